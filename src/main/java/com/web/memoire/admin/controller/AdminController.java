@@ -6,6 +6,7 @@ import com.web.memoire.admin.model.service.AdminService;
 import com.web.memoire.common.dto.Collection;
 import com.web.memoire.common.dto.Memory;
 import com.web.memoire.common.dto.Report;
+import com.web.memoire.library.model.service.ReadCountBuffer;
 import com.web.memoire.user.model.dto.User;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -33,6 +34,7 @@ import java.util.Map;
 public class AdminController {
 
     private final AdminService adminService;
+    private final ReadCountBuffer readCountBuffer;
 
     /**
      * 일별 신규 가입자 수 통계를 제공하는 API 엔드포인트.
@@ -254,4 +256,19 @@ public class AdminController {
         }
     }
 
+    @GetMapping("/read-count/pending")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getPendingReadCount() {
+        // 아직 DB에 반영되지 않은 조회수 버퍼 상태 (flush 지연/실패 모니터링용)
+        try {
+            Map<String, Object> map = new HashMap<>();
+            map.put("pendingReadCount", readCountBuffer.getPendingDelta());
+            map.put("pendingCollections", readCountBuffer.getPendingCollections());
+            return ResponseEntity.ok(map);
+        } catch (Exception e) {
+            log.error("AdminController.getPendingReadCount error: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("/read-count/pending 에러");
+        }
+    }
+
 }
\ No newline at end of file
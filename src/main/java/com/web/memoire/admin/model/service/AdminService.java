@@ -10,6 +10,7 @@ import com.web.memoire.common.dto.Collection;
 import com.web.memoire.common.dto.Memory;
 import com.web.memoire.common.dto.Report;
 import com.web.memoire.common.entity.ReportEntity;
+import com.web.memoire.common.model.service.UserSearchIndex;
 import com.web.memoire.user.jpa.entity.UserEntity;
 import com.web.memoire.user.jpa.repository.UserRepository;
 import com.web.memoire.user.model.dto.User;
@@ -36,6 +37,7 @@ public class AdminService {
     private final AdminCollectionLikeRepository adminCollectionLikeRepository;
     private final AdminReportRepository adminReportRepository;
     private final AdminMemoryRepository adminMemoryRepository;
+    private final UserSearchIndex userSearchIndex;
 
 
     /**
@@ -172,13 +174,18 @@ public class AdminService {
         if (role.equals("BAD")) {
             user.setSanctionCount(user.getSanctionCount() + 1);
         }
-        return userRepository.save(user) == null ? 0 : 1;
+        UserEntity saved = userRepository.save(user);
+        // 차단된 유저는 검색 인덱스에서 제거 (해제되면 다시 추가)
+        userSearchIndex.upsertAfterCommit(saved.getUserId(), saved.getNickname(), saved.getRole());
+        return 1;
     }
 
     public int adminUser(String userid, String role) {
         UserEntity user = findUserById(userid).toEntity();
         user.setRole(role);
-        return userRepository.save(user) == null ? 0 : 1;
+        UserEntity saved = userRepository.save(user);
+        userSearchIndex.upsertAfterCommit(saved.getUserId(), saved.getNickname(), saved.getRole());
+        return 1;
     }
 
 
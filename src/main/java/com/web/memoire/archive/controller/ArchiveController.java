@@ -2,10 +2,11 @@ package com.web.memoire.archive.controller;
 
 import com.web.memoire.archive.model.service.ArchiveService;
 import com.web.memoire.common.dto.*;
-import com.web.memoire.user.model.dto.User;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -45,25 +46,12 @@ public class ArchiveController {
     }
 
     @GetMapping("/follower")
-    public ResponseEntity<?> getUserFollower(@RequestParam String userid) {
+    public ResponseEntity<?> getUserFollower(@RequestParam String userid,
+                                        @PageableDefault(size = 30) Pageable pageable) {
         log.info("ArchiveController.getUserFollower...");
         try {
-            ArrayList<User> userList = new ArrayList<>();
-            for (Relationship rel : archiveService.findAllUserFollower(userid)) {
-                User user = archiveService.findUserById(rel.getUserid());
-                if (user.getRole().equals("BAD")) continue;
-                // 상대방 개인정보 처리
-                user.setName(null);
-                user.setBirthday(null);
-                user.setPhone(null);
-                user.setAutoLoginFlag(null);
-                user.setRegistrationDate(null);
-                user.setSanctionCount(null);
-                user.setStatusMessage(null);
-                user.setLoginType(null);
-                userList.add(user);
-            }
-            return ResponseEntity.ok(userList);
+            // 차단된 유저 제외, 공개 정보(UserSummary)만 리턴
+            return ResponseEntity.ok(archiveService.findFollowerSummaries(userid, pageable));
         } catch (Exception e) {
             log.error("error", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("/follower 에러");
@@ -71,25 +59,12 @@ public class ArchiveController {
     }
 
     @GetMapping("/following")
-    public ResponseEntity<?> getUserFollowing(@RequestParam String userid) {
+    public ResponseEntity<?> getUserFollowing(@RequestParam String userid,
+                                        @PageableDefault(size = 30) Pageable pageable) {
         log.info("ArchiveController.getUserFollowing...");
         try {
-            ArrayList<User> userList = new ArrayList<>();
-            for (Relationship rel : archiveService.findAllUserFollowing(userid)) {
-                User user = archiveService.findUserById(rel.getTargetid());
-                if (user.getRole().equals("BAD")) continue;
-                // 상대방 개인정보 처리
-                user.setName(null);
-                user.setBirthday(null);
-                user.setPhone(null);
-                user.setAutoLoginFlag(null);
-                user.setRegistrationDate(null);
-                user.setSanctionCount(null);
-                user.setStatusMessage(null);
-                user.setLoginType(null);
-                userList.add(user);
-            }
-            return ResponseEntity.ok(userList);
+            // 차단된 유저 제외, 공개 정보(UserSummary)만 리턴
+            return ResponseEntity.ok(archiveService.findFollowingSummaries(userid, pageable));
         } catch (Exception e) {
             log.error("error", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("/following 에러");
@@ -139,13 +114,9 @@ public class ArchiveController {
                 }
                 // follower
                 else if (coll.getVisibility() == 2) {
-                    if (archiveService.findRelationshipById(userid, coll.getAuthorid()) == null) {
-                        // do not add
-                    } else if (archiveService.findRelationshipById(userid, coll.getAuthorid()).getStatus().equals("1")) {
+                    if (archiveService.isFollowing(userid, coll.getAuthorid())) {
                         // ok
                         c.add(coll);
-                    } else {
-                        // do not add
                     }
                 }
                 // private
@@ -217,9 +188,7 @@ public class ArchiveController {
         log.info("collection : " + collection); // collection : Collection(collectionid=null, authorid=blabla, collectionTitle=blabla, readCount=0, visibility=1, createdDate=null, titleEmbedding=null, color=#000000)
         log.info("memory: " + memory); // memory: Memory(memoryid=0, memoryType=text, collectionid=0, title=123123123123123, content=1231231135161, filename=null, filepath=null, createdDate=null, memoryOrder=0)
         collection.setCreatedDate(new Date());
-        //=============================
-        collection.setTitleEmbedding(archiveService.getEmbeddedTitle(collection.getCollectionTitle()));
-        //=============================
+        // 타이틀 임베딩은 저장 후 백그라운드에서 계산 (ArchiveService.insertCollection)
         int collectionid = archiveService.insertCollection(collection);
         if (collectionid > 0) {
             memory.setCollectionid(collectionid);
@@ -351,14 +320,7 @@ public class ArchiveController {
     public ResponseEntity<?> editCollection(@ModelAttribute Collection collection, @RequestParam(name = "tags", required = false) List<String> tags) {
         log.info("ArchiveController.editCollection...");
         log.info("collection : " + collection); // collection : Collection(collectionid=null, authorid=blabla, collectionTitle=blabla, readCount=0, visibility=1, createdDate=null, titleEmbedding=null, color=#000000)
-//        TODO: 여긴 추가하거나 말거나 (컬렉션을 편집하면 임베딩을 새로고침)
-//        TODO: collection.setTitleEmbedding(blabla);
-        collection.setTitleEmbedding(null);
-        // 기존 컬렉션을 가져오는 로직 (예: DB에서 불러옴)
-        Collection existingCollection = archiveService.getCollectionById(collection.getCollectionid());
-        if (existingCollection != null && !existingCollection.getCollectionTitle().equals(collection.getCollectionTitle())) {
-            collection.setTitleEmbedding(archiveService.getEmbeddedTitle(collection.getCollectionTitle()));
-        }
+        // 제목이 바뀌었으면 임베딩은 저장 후 백그라운드에서 다시 계산 (ArchiveService.insertCollection)
 
 //        컬렉션 수정하면 날짜 초기화
         collection.setCreatedDate(new Date());
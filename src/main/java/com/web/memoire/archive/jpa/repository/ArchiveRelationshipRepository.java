@@ -2,6 +2,8 @@ package com.web.memoire.archive.jpa.repository;
 
 import com.web.memoire.common.entity.RelationshipEntity;
 import com.web.memoire.common.entity.RelationshipId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -28,6 +30,16 @@ public interface ArchiveRelationshipRepository extends JpaRepository<Relationshi
     @Query(value = "SELECT count(r) FROM RelationshipEntity r JOIN UserEntity u ON r.userid = u.userId WHERE r.targetid = :userid AND r.status = '1' and u.role != 'BAD'")
     int countAllFollowerByUserId(@Param("userid") String userid);
 
+    // 유저의 팔로워 id 페이지 (차단된 유저 제외, 최신순)
+    @Query(value = "SELECT r.userid FROM RelationshipEntity r JOIN UserEntity u ON r.userid = u.userId WHERE r.targetid = :userid AND r.status = '1' and u.role != 'BAD' ORDER BY r.followDate DESC, r.userid",
+            countQuery = "SELECT count(r) FROM RelationshipEntity r JOIN UserEntity u ON r.userid = u.userId WHERE r.targetid = :userid AND r.status = '1' and u.role != 'BAD'")
+    Page<String> findFollowerIds(@Param("userid") String userid, Pageable pageable);
+
+    // 유저의 팔로잉 id 페이지 (차단된 유저 제외, 최신순)
+    @Query(value = "SELECT r.targetid FROM RelationshipEntity r JOIN UserEntity u ON r.targetid = u.userId WHERE r.userid = :userid AND r.status = '1' and u.role != 'BAD' ORDER BY r.followDate DESC, r.targetid",
+            countQuery = "SELECT count(r) FROM RelationshipEntity r JOIN UserEntity u ON r.targetid = u.userId WHERE r.userid = :userid AND r.status = '1' and u.role != 'BAD'")
+    Page<String> findFollowingIds(@Param("userid") String userid, Pageable pageable);
+
     // 유저가 보낸 요청 조회
     @Query(value = "SELECT r FROM RelationshipEntity r WHERE r.userid = :userid AND r.status = '0'")
     List<RelationshipEntity> findAllUserRequestFollowing(@Param("userid") String userid);
@@ -4,21 +4,28 @@ import com.web.memoire.archive.jpa.repository.*;
 import com.web.memoire.common.dto.*;
 import com.web.memoire.common.dto.Collection;
 import com.web.memoire.common.entity.*;
+import com.web.memoire.common.jpa.repository.TagTitleSimilarityRepository;
+import com.web.memoire.common.model.service.CollectionEmbeddingWorker;
+import com.web.memoire.common.model.service.CollectionSimilarityIndex;
+import com.web.memoire.common.model.service.FollowingFeedInbox;
+import com.web.memoire.common.model.service.SocialGraph;
+import com.web.memoire.common.model.service.TagDictionary;
+import com.web.memoire.common.model.service.TagAutocompleteIndex;
+import com.web.memoire.common.model.service.UserSummaryLoader;
+import com.web.memoire.common.model.service.UserTagProfileService;
 import com.web.memoire.user.jpa.entity.UserEntity;
 import com.web.memoire.user.jpa.repository.UserRepository;
 import com.web.memoire.user.model.dto.User;
-import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import reactor.core.publisher.Mono;
 
 import java.util.*;
 
@@ -42,9 +49,25 @@ public class ArchiveService {
     @Autowired
     private final ArchiveTagRepository archiveTagRepository;
     @Autowired
-    private OpenAIService openAIService;
+    private CollectionEmbeddingWorker collectionEmbeddingWorker;
     @Autowired
     private ArchiveCollectionTagRepository archiveCollectionTagRepository;
+    @Autowired
+    private TagDictionary tagDictionary;
+    @Autowired
+    private UserTagProfileService userTagProfileService;
+    @Autowired
+    private CollectionSimilarityIndex collectionSimilarityIndex;
+    @Autowired
+    private TagTitleSimilarityRepository tagTitleSimilarityRepository;
+    @Autowired
+    private TagAutocompleteIndex tagAutocompleteIndex;
+    @Autowired
+    private FollowingFeedInbox followingFeedInbox;
+    @Autowired
+    private SocialGraph socialGraph;
+    @Autowired
+    private UserSummaryLoader userSummaryLoader;
 
 
     // UserRepository
@@ -113,14 +136,41 @@ public class ArchiveService {
 
     @Transactional
     public int insertCollection(Collection collection) {
-        CollectionEntity entity = archiveCollectionRepository.save(collection.toEntity());
+        CollectionEntity toSave = collection.toEntity();
+        CollectionEntity existing = toSave.getCollectionid() != 0
+                ? archiveCollectionRepository.findCollectionById(toSave.getCollectionid()) : null;
+
+        // 새 컬렉션이거나 제목이 바뀌었으면 임베딩은 커밋 후 백그라운드에서 계산 (그동안 기존 임베딩 유지)
+        boolean needsEmbedding = existing == null || existing.getTitleEmbedding() == null
+                || !Objects.equals(existing.getCollectionTitle(), toSave.getCollectionTitle());
+        toSave.setTitleEmbedding(existing != null ? existing.getTitleEmbedding() : null);
+        toSave.setEmbeddingStatus(needsEmbedding ? CollectionEntity.EMBEDDING_PENDING : existing.getEmbeddingStatus());
+
+        CollectionEntity entity = archiveCollectionRepository.save(toSave);
+        if (entity != null && needsEmbedding) {
+            collectionEmbeddingWorker.submitAfterCommit(entity.getCollectionid(), entity.getCollectionTitle());
+        }
+        // 새 컬렉션은 팔로워들의 팔로잉 피드 수신함에 추가, 수정한 컬렉션은 수신함의 작성일 갱신
+        if (entity != null && existing == null) {
+            followingFeedInbox.fanOutAfterCommit(entity.getCollectionid());
+        } else if (entity != null && !Objects.equals(existing.getCreatedDate(), entity.getCreatedDate())) {
+            followingFeedInbox.syncCreatedDateAfterCommit(entity.getCollectionid());
+        }
         return entity != null ? entity.getCollectionid() : 0;
     }
 
     @Transactional
     public int deleteCollection(int collectionid) {
         try {
+            CollectionEntity collection = archiveCollectionRepository.findCollectionById(collectionid);
+            tagTitleSimilarityRepository.deleteByCollectionid(collectionid);
+            followingFeedInbox.removeCollection(collectionid);
             archiveCollectionRepository.deleteById(collectionid);
+            collectionSimilarityIndex.removeAfterCommit(collectionid);
+            // 작성자 태그 프로필 재집계
+            if (collection != null) {
+                userTagProfileService.rebuild(collection.getAuthorid());
+            }
             return 1;
         } catch (Exception e) {
             return 0;
@@ -130,9 +180,14 @@ public class ArchiveService {
     // ArchiveCollectionTagRepository
     public ArrayList<String> findAllTagsByCollectionid(int collectionid) {
         List<CollectionTagEntity> entityList = archiveCollectionTagRepository.findCollectionTagByCollectionId(collectionid);
+        Map<Integer, String> tagNames = tagDictionary.getNames(
+                entityList.stream().map(CollectionTagEntity::getTagid).toList());
         ArrayList<String> list = new ArrayList<>();
         for (CollectionTagEntity entity : entityList) {
-            list.add(archiveTagRepository.findTagById(entity.getTagid()).getTagName());
+            String tagName = tagNames.get(entity.getTagid());
+            if (tagName != null) {
+                list.add(tagName);
+            }
         }
         return list;
     }
@@ -142,6 +197,7 @@ public class ArchiveService {
         try {
             archiveCollectionTagRepository.deleteByCollectionid(collectionid);
             if (tags == null || tags.isEmpty()) {
+                rebuildTagProfileOf(collectionid);
                 return 1;
             }
         } catch (Exception e) {
@@ -154,12 +210,14 @@ public class ArchiveService {
                 newTag.setTagName(tag);
                 newTag.setSearchCount(0);
                 newTag.setLikeCount(0);
-//                TODO: tagEmbedding is set here
+                // 태그 임베딩은 TagSimilarityJob이 새 태그를 모아 배치로 채움
                 newTag.setTagEmbedding(null);
                 TagEntity t = archiveTagRepository.save(newTag);
                 if (t == null) {
                     return 0;
                 }
+                tagDictionary.register(t.getTagid(), t.getTagName());
+                tagAutocompleteIndex.add(t.getTagName());
                 if (archiveCollectionTagRepository.save(new CollectionTagEntity(collectionid, t.getTagid())) == null) {
                     return 0;
                 }
@@ -169,10 +227,19 @@ public class ArchiveService {
                 }
             }
         }
+        rebuildTagProfileOf(collectionid);
         return 1;
 
     }
 
+    // 컬렉션 생성/수정/태그 변경 후 작성자 태그 프로필 재집계
+    private void rebuildTagProfileOf(int collectionid) {
+        CollectionEntity collection = archiveCollectionRepository.findCollectionById(collectionid);
+        if (collection != null) {
+            userTagProfileService.rebuild(collection.getAuthorid());
+        }
+    }
+
     // ArchiveLikeRepository
     public ArrayList<Like> findAllUserLikes(String userid) {
         List<LikeEntity> entityList = archiveLikeRepository.findAllUserLikes(userid);
@@ -298,6 +365,23 @@ public class ArchiveService {
         return archiveRelationshipRepository.findRelationshipById(userid, targetid) != null ? archiveRelationshipRepository.findRelationshipById(userid, targetid).toDto() : null;
     }
 
+    // 유저의 팔로워 요약 페이지 (유저 정보는 IN 쿼리 한 번으로 조회)
+    public Page<UserSummary> findFollowerSummaries(String userid, Pageable pageable) {
+        Page<String> userIds = archiveRelationshipRepository.findFollowerIds(userid, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        return new PageImpl<>(userSummaryLoader.loadInOrder(userIds.getContent()), userIds.getPageable(), userIds.getTotalElements());
+    }
+
+    // 유저의 팔로잉 요약 페이지 (유저 정보는 IN 쿼리 한 번으로 조회)
+    public Page<UserSummary> findFollowingSummaries(String userid, Pageable pageable) {
+        Page<String> userIds = archiveRelationshipRepository.findFollowingIds(userid, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        return new PageImpl<>(userSummaryLoader.loadInOrder(userIds.getContent()), userIds.getPageable(), userIds.getTotalElements());
+    }
+
+    // userid가 targetid를 팔로우 중인지 (관계 그래프에서 조회)
+    public boolean isFollowing(String userid, String targetid) {
+        return socialGraph.isFollowing(userid, targetid);
+    }
+
     public Relationship findRelationshipByUserIdAndTargetId(String userid, String targetid) {
         return archiveRelationshipRepository.findRelationshipByTargetId(userid, targetid).toDto();
     }
@@ -306,6 +390,8 @@ public class ArchiveService {
     public int deleteRelationship(String userid, String targetid) {
         try {
             archiveRelationshipRepository.deleteById(new RelationshipId(userid, targetid));
+            socialGraph.updateAfterCommit(userid, targetid, SocialGraph.NONE);
+            followingFeedInbox.onRelationshipChanged(userid, targetid, "3");
             return 1;
         } catch (Exception e) {
             return 0;
@@ -315,13 +401,18 @@ public class ArchiveService {
     @Transactional
     public int insertRelationship(String userid, String targetid) {
         RelationshipEntity entity = archiveRelationshipRepository.save(new RelationshipEntity(userid, targetid, new Date(), "0"));
+        socialGraph.updateAfterCommit(userid, targetid, "0");
         return entity != null ? 1 : 0;
     }
 
     // ArchiveReportRepository
 
     // ArchiveTagRepository
+    // 키워드가 포함된 태그 상위 20개 (자동완성 인덱스, 인덱스 생성 전에는 DB 조회)
     public ArrayList<String> findTop20TagsWithKeyword(String keyword) {
+        if (tagAutocompleteIndex.isReady()) {
+            return new ArrayList<>(tagAutocompleteIndex.suggest(keyword));
+        }
         List<TagEntity> entityList = archiveTagRepository.findTop20TagsWithKeyword(keyword, PageRequest.of(0, 20));
         ArrayList<String> list = new ArrayList<>();
         for (TagEntity entity : entityList) {
@@ -364,7 +455,6 @@ public class ArchiveService {
                     .readCount(c.getReadCount())
                     .visibility(c.getVisibility())
                     .createdDate(c.getCreatedDate())
-                    .titleEmbedding(c.getTitleEmbedding())
                     .color(c.getColor())
                     .thumbnailPath(thumbnailPath)
                     .textContent(textContent) // 필요 시 추출
@@ -411,7 +501,6 @@ public class ArchiveService {
                 .readCount(collection.getReadCount())
                 .visibility(collection.getVisibility())
                 .createdDate(collection.getCreatedDate())
-                .titleEmbedding(collection.getTitleEmbedding())
                 .color(collection.getColor())
                 .thumbnailPath(thumbnailPath)
                 .textContent(textContent) // 필요 시 추출
@@ -425,31 +514,6 @@ public class ArchiveService {
     }
 
 
-    // 예시: JSON 형식으로 임베딩 배열을 추출
-    private static String extractEmbedding(String jsonResponse) throws JSONException {
-        // JSONObject로 변환
-        JSONObject jsonObject = new JSONObject(jsonResponse);
-
-        // "data" 배열에서 첫 번째 객체 추출
-        JSONArray data = jsonObject.getJSONArray("data");
-        JSONObject firstItem = data.getJSONObject(0);
-
-        // "embedding" 키가 존재하는지 확인 후, 존재하면 해당 값을 문자열로 변환하여 반환
-        if (firstItem.has("embedding")) {
-            JSONArray embeddingArray = firstItem.getJSONArray("embedding");
-            return embeddingArray.toString();  // JSONArray를 문자열로 변환
-        } else {
-            throw new JSONException("\"embedding\" key not found");
-        }
-    }
-
-    public String getEmbeddedTitle(@NotBlank String collectionTitle) {
-        // OpenAIService를 호출하여 임베딩 값을 가져옴
-        Mono<String> embeddingMono = openAIService.getEmbedding(collectionTitle);
-        String embeddedTitle = embeddingMono.block();  // 임베딩 결과 동기적으로 받아옴
-        return extractEmbedding(embeddedTitle);  // 임베딩 값에서 필요한 숫자만 추출
-    }
-
     public Collection getCollectionById(@NotNull int collectionid) {
         return archiveCollectionRepository.findCollectionById(collectionid).toDto();
     }
@@ -0,0 +1,19 @@
+package com.web.memoire.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+// 컬렉션 상세 페이지 응답 (컬렉션 뷰 + 메모리 미리보기 첫 페이지)
+public class CollDetailWithMemories {
+
+    private CollView collection;
+
+    private Page<MemoryPreview> memories;
+}
@@ -30,8 +30,6 @@ public class CollView {
     @JsonFormat(pattern = "yyyy-MM-dd")
     private Date createdDate;
 
-    private String titleEmbedding;
-
     private String color;
 
     private String viewType;
@@ -37,7 +37,7 @@ public class Collection {
     @NotNull
     @JsonFormat(pattern = "yyyy-MM-dd")
     private Date createdDate;
-    private String titleEmbedding;
+    private float[] titleEmbedding;
 
     @NotBlank
     private String color;
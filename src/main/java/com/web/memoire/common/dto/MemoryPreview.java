@@ -0,0 +1,39 @@
+package com.web.memoire.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+// 컬렉션 상세용 메모리 목록 항목 (content는 앞부분만, 전체는 /memory/{memoryId}로 조회)
+public class MemoryPreview {
+
+    private int memoryid;
+
+    private String memoryType;
+
+    private int collectionid;
+
+    private String title;
+
+    private String contentPreview;
+
+    // content가 잘렸는지 (true면 상세 조회 필요)
+    private boolean contentTruncated;
+
+    private String filename;
+
+    private String filepath;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private Date createdDate;
+
+    private int memoryOrder;
+}
@@ -28,7 +28,7 @@ public class Tag {
     @NotNull
     private int likeCount;
 
-    private String tagEmbedding;
+    private float[] tagEmbedding;
 
 
     public TagEntity toEntity() {
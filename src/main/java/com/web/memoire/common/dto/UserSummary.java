@@ -0,0 +1,18 @@
+package com.web.memoire.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 유저 목록(팔로워/팔로잉/좋아요한 사람 등)에 보여주는 공개 정보만 담은 유저 요약
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserSummary {
+    private String userId;
+    private String loginId;
+    private String nickname;
+    private String profileImagePath;
+}
@@ -18,6 +18,11 @@ import java.util.Date;
 @Entity
 public class CollectionEntity {
 
+    // 타이틀 임베딩 상태 (EMBEDDING_STATUS)
+    public static final String EMBEDDING_PENDING = "PENDING";
+    public static final String EMBEDDING_DONE = "DONE";
+    public static final String EMBEDDING_FAILED = "FAILED";
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "collection_seq")
     @SequenceGenerator(name = "collection_seq", sequenceName = "SEQ_TB_COLLECTION_COLLECTIONID", allocationSize = 1)
@@ -40,13 +45,23 @@ public class CollectionEntity {
     @Column(name = "CREATED_DATE", nullable = false, columnDefinition = "DATE DEFAULT SYSDATE")
     private Date createdDate;
 
+    // 타이틀 임베딩 (int8 양자화 바이너리, 구버전 CLOB JSON은 EmbeddingMigrationJob이 이관)
     @Lob
-    @Column(name = "TITLE_EMBEDDING", columnDefinition = "CLOB")
-    private String titleEmbedding;
+    @Convert(converter = QuantizedEmbeddingConverter.class)
+    @Column(name = "TITLE_EMBEDDING_VEC", columnDefinition = "BLOB")
+    private float[] titleEmbedding;
 
     @Column(name = "COLOR", length = 50, nullable = false)
     private String color;
 
+    // 생성/제목 수정 시 PENDING, CollectionEmbeddingWorker가 임베딩을 저장하면 DONE
+    @Column(name = "EMBEDDING_STATUS", length = 10)
+    private String embeddingStatus;
+
+    // 좋아요/북마크/조회 시 UPDATE 쿼리로만 증감 (엔티티 save로 덮어쓰지 않음)
+    @Column(name = "POPULARITY_SCORE", nullable = false, insertable = false, updatable = false, columnDefinition = "NUMBER DEFAULT 0")
+    private int popularityScore;
+
     public Collection toDto() {
         return Collection.builder()
                 .collectionid(collectionid)
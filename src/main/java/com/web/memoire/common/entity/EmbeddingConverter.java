@@ -0,0 +1,20 @@
+package com.web.memoire.common.entity;
+
+import com.web.memoire.common.util.EmbeddingCodec;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// 임베딩 float[] <-> BLOB (float32 바이너리, 정밀도 유지가 필요한 곳에 사용)
+@Converter
+public class EmbeddingConverter implements AttributeConverter<float[], byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(float[] attribute) {
+        return EmbeddingCodec.encodeFloat32(attribute);
+    }
+
+    @Override
+    public float[] convertToEntityAttribute(byte[] dbData) {
+        return EmbeddingCodec.decode(dbData);
+    }
+}
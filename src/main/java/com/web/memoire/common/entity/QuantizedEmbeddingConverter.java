@@ -0,0 +1,20 @@
+package com.web.memoire.common.entity;
+
+import com.web.memoire.common.util.EmbeddingCodec;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// 임베딩 float[] <-> BLOB (int8 양자화, 유사도 순위 계산용 - float32 대비 1/4 크기)
+@Converter
+public class QuantizedEmbeddingConverter implements AttributeConverter<float[], byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(float[] attribute) {
+        return EmbeddingCodec.encodeInt8(attribute);
+    }
+
+    @Override
+    public float[] convertToEntityAttribute(byte[] dbData) {
+        return EmbeddingCodec.decode(dbData);
+    }
+}
@@ -30,9 +30,11 @@ public class TagEntity {
     @Column(name = "LIKE_COUNT", nullable = false, columnDefinition = "NUMBER DEFAULT 0")
     private int likeCount;
 
+    // 태그 임베딩 (int8 양자화 바이너리, 구버전 CLOB JSON은 EmbeddingMigrationJob이 이관)
     @Lob
-    @Column(name = "TAG_EMBEDDING", columnDefinition = "CLOB")
-    private String tagEmbedding;
+    @Convert(converter = QuantizedEmbeddingConverter.class)
+    @Column(name = "TAG_EMBEDDING_VEC", columnDefinition = "BLOB")
+    private float[] tagEmbedding;
 
     public String getTagName() {
         return this.tagName;
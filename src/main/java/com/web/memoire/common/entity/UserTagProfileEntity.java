@@ -0,0 +1,28 @@
+package com.web.memoire.common.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "TB_USER_TAG_PROFILE")
+@Entity
+@IdClass(UserTagProfileId.class)
+public class UserTagProfileEntity {
+
+    @Id
+    @Column(name = "USERID", nullable = false)
+    private String userid;
+
+    @Id
+    @Column(name = "TAGID", nullable = false)
+    private int tagid;
+
+    @Column(name = "TAG_COUNT", nullable = false, columnDefinition = "NUMBER DEFAULT 0")
+    private int tagCount;
+}
@@ -0,0 +1,18 @@
+package com.web.memoire.common.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTagProfileId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String userid;
+    private int tagid;
+}
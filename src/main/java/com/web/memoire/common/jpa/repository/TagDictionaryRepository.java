@@ -0,0 +1,27 @@
+package com.web.memoire.common.jpa.repository;
+
+import com.web.memoire.common.entity.TagEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TagDictionaryRepository extends JpaRepository<TagEntity, Integer> {
+
+    // 태그 (tagid, tagName) 목록 - 임베딩 컬럼은 읽지 않음
+    @Query("SELECT t.tagid, t.tagName FROM TagEntity t ORDER BY t.searchCount + t.likeCount DESC")
+    List<Object[]> findTagNames(Pageable pageable);
+
+    @Query("SELECT t.tagid, t.tagName FROM TagEntity t WHERE t.tagid IN :tagids")
+    List<Object[]> findTagNamesByTagidIn(@Param("tagids") Collection<Integer> tagids);
+
+    @Query("SELECT t.tagid, t.tagName FROM TagEntity t WHERE t.tagName = :tagName")
+    List<Object[]> findTagNameByTagName(@Param("tagName") String tagName);
+
+    // 태그 (tagName, 검색 수 + 좋아요 수) 목록 - 자동완성 인덱스용
+    @Query("SELECT t.tagName, t.searchCount + t.likeCount FROM TagEntity t")
+    List<Object[]> findTagWeights();
+}
@@ -0,0 +1,20 @@
+package com.web.memoire.common.jpa.repository;
+
+import com.web.memoire.common.entity.TagEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface TagEmbeddingRepository extends JpaRepository<TagEntity, Integer> {
+
+    // 임베딩이 아직 없는 태그 (tagid, tagName) - tagid 순서로 :afterId 다음부터
+    @Query("SELECT t.tagid, t.tagName FROM TagEntity t WHERE t.tagEmbedding IS NULL AND t.tagid > :afterId ORDER BY t.tagid")
+    List<Object[]> findTagsWithoutEmbedding(@Param("afterId") int afterId, Pageable pageable);
+
+    // 임베딩이 있는 태그 (tagid, tagEmbedding) - tagid 순서로 :afterId 다음부터
+    @Query("SELECT t.tagid, t.tagEmbedding FROM TagEntity t WHERE t.tagEmbedding IS NOT NULL AND t.tagid > :afterId ORDER BY t.tagid")
+    List<Object[]> findTagEmbeddings(@Param("afterId") int afterId, Pageable pageable);
+}
@@ -0,0 +1,16 @@
+package com.web.memoire.common.jpa.repository;
+
+import com.web.memoire.common.entity.TagTitleSimilarityEntity;
+import com.web.memoire.common.entity.TagTitleSimilarityId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface TagTitleSimilarityRepository extends JpaRepository<TagTitleSimilarityEntity, TagTitleSimilarityId> {
+
+    // 컬렉션 삭제 전 유사도 행 정리 (FK_TAG_SIM_COLL)
+    @Modifying
+    @Query(value = "DELETE FROM TB_TAG_TITLE_SIMILARITY WHERE COLLECTIONID = :collectionid", nativeQuery = true)
+    int deleteByCollectionid(@Param("collectionid") int collectionid);
+}
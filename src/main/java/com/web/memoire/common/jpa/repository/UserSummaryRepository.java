@@ -0,0 +1,23 @@
+package com.web.memoire.common.jpa.repository;
+
+import com.web.memoire.common.dto.UserSummary;
+import com.web.memoire.user.jpa.entity.UserEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface UserSummaryRepository extends JpaRepository<UserEntity, String> {
+
+    // 여러 유저의 공개 컬럼만 IN 리스트로 한 번에 조회 (UserEntity 전체를 읽지 않음)
+    @Query("SELECT new com.web.memoire.common.dto.UserSummary(u.userId, u.loginId, u.nickname, u.profileImagePath)"
+            + " FROM UserEntity u WHERE u.userId IN :userIds")
+    List<UserSummary> findSummariesByUserIdIn(@Param("userIds") Collection<String> userIds);
+
+    // 유저 카드에만 쓰는 상태 메시지 (userId, statusMessage), 상태 메시지가 없는 유저는 제외
+    @Query("SELECT u.userId, u.statusMessage FROM UserEntity u"
+            + " WHERE u.userId IN :userIds AND u.statusMessage IS NOT NULL")
+    List<Object[]> findStatusMessagesByUserIdIn(@Param("userIds") Collection<String> userIds);
+}
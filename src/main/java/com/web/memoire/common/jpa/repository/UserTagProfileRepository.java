@@ -0,0 +1,61 @@
+package com.web.memoire.common.jpa.repository;
+
+import com.web.memoire.common.entity.UserTagProfileEntity;
+import com.web.memoire.common.entity.UserTagProfileId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface UserTagProfileRepository extends JpaRepository<UserTagProfileEntity, UserTagProfileId> {
+
+    // 유저의 태그 빈도 상위 목록
+    @Query("SELECT p FROM UserTagProfileEntity p WHERE p.userid = :userid ORDER BY p.tagCount DESC, p.tagid")
+    List<UserTagProfileEntity> findTopByUserid(@Param("userid") String userid, Pageable pageable);
+
+    // 여러 유저의 태그 빈도 상위 :limit개씩 (userid, tagid) - 유저별 순위순
+    @Query(value = """
+            SELECT USERID, TAGID
+              FROM (SELECT p.USERID, p.TAGID,
+                           ROW_NUMBER() OVER (PARTITION BY p.USERID ORDER BY p.TAG_COUNT DESC, p.TAGID) AS RN
+                      FROM TB_USER_TAG_PROFILE p
+                     WHERE p.USERID IN (:userids))
+             WHERE RN <= :limit
+             ORDER BY USERID, RN
+            """, nativeQuery = true)
+    List<Object[]> findTopTagidsByUseridIn(@Param("userids") Collection<String> userids, @Param("limit") int limit);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM TB_USER_TAG_PROFILE WHERE USERID = :userid", nativeQuery = true)
+    int deleteByUserid(@Param("userid") String userid);
+
+    // 유저의 공개 컬렉션에 달린 태그 빈도를 다시 집계해 저장
+    @Modifying
+    @Query(value = """
+            INSERT INTO TB_USER_TAG_PROFILE (USERID, TAGID, TAG_COUNT)
+            SELECT c.AUTHORID, ct.TAGID, COUNT(*)
+              FROM TB_COLLECTION c
+              JOIN TB_COLLECTION_TAG ct ON ct.COLLECTIONID = c.COLLECTIONID
+             WHERE c.AUTHORID = :userid AND c.VISIBILITY = 1
+             GROUP BY c.AUTHORID, ct.TAGID""", nativeQuery = true)
+    int insertProfileOf(@Param("userid") String userid);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM TB_USER_TAG_PROFILE", nativeQuery = true)
+    int deleteAllProfiles();
+
+    // 전체 유저의 태그 빈도 재집계
+    @Modifying
+    @Query(value = """
+            INSERT INTO TB_USER_TAG_PROFILE (USERID, TAGID, TAG_COUNT)
+            SELECT c.AUTHORID, ct.TAGID, COUNT(*)
+              FROM TB_COLLECTION c
+              JOIN TB_COLLECTION_TAG ct ON ct.COLLECTIONID = c.COLLECTIONID
+             WHERE c.VISIBILITY = 1
+             GROUP BY c.AUTHORID, ct.TAGID""", nativeQuery = true)
+    int insertAllProfiles();
+}
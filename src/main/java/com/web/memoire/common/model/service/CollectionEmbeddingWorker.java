@@ -0,0 +1,176 @@
+package com.web.memoire.common.model.service;
+
+import com.web.memoire.common.entity.CollectionEntity;
+import com.web.memoire.common.util.EmbeddingCodec;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * 컬렉션 타이틀 임베딩 백그라운드 작업.
+ * 컬렉션 생성/제목 수정은 EMBEDDING_STATUS = PENDING으로 바로 저장하고, 커밋 후 이 작업 큐에 넘긴다.
+ * 큐는 크기가 정해져 있어 가득 차면 넘기지 않고, 주기적인 스위퍼가 PENDING 행을 다시 큐에 넣는다.
+ * 실패하면 지수 백오프로 재시도하고, 최대 횟수를 넘으면 FAILED로 표시한다.
+ * FAILED 행은 재시도 시각(EMBEDDING_RETRY_AT, 실패할 때마다 대기 시간 2배)이 지나면 스위퍼가 다시 넣고,
+ * 실패 횟수(EMBEDDING_FAIL_COUNT)가 failed-max-retries에 닿으면 더 이상 시도하지 않는다.
+ * 완료 시 제목이 그대로인 경우에만 임베딩을 저장하고(그 사이 제목이 바뀌면 새 작업이 처리) 유사도 인덱스에 반영한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CollectionEmbeddingWorker {
+
+    private static final String UPDATE_EMBEDDING_SQL = "UPDATE TB_COLLECTION SET TITLE_EMBEDDING_VEC = ?, EMBEDDING_STATUS = '"
+            + CollectionEntity.EMBEDDING_DONE + "', EMBEDDING_FAIL_COUNT = 0, EMBEDDING_RETRY_AT = NULL"
+            + " WHERE COLLECTIONID = ? AND COLLECTION_TITLE = ?";
+    // 실패 횟수 +1, 다음 재시도는 cooldown * 2^(이전 실패 횟수)분 뒤
+    private static final String MARK_FAILED_SQL = "UPDATE TB_COLLECTION SET EMBEDDING_STATUS = '"
+            + CollectionEntity.EMBEDDING_FAILED + "', EMBEDDING_FAIL_COUNT = EMBEDDING_FAIL_COUNT + 1,"
+            + " EMBEDDING_RETRY_AT = SYSDATE + NUMTODSINTERVAL(? * POWER(2, EMBEDDING_FAIL_COUNT), 'MINUTE')"
+            + " WHERE COLLECTIONID = ? AND COLLECTION_TITLE = ?";
+    private static final String FIND_PENDING_SQL = "SELECT COLLECTIONID, COLLECTION_TITLE FROM TB_COLLECTION"
+            + " WHERE EMBEDDING_STATUS = '" + CollectionEntity.EMBEDDING_PENDING + "'"
+            + " ORDER BY COLLECTIONID FETCH FIRST ? ROWS ONLY";
+    // 재시도 시각이 지났고 최대 재시도 횟수를 넘지 않은 FAILED 행 (오래 기다린 순)
+    private static final String FIND_RETRYABLE_FAILED_SQL = "SELECT COLLECTIONID, COLLECTION_TITLE FROM TB_COLLECTION"
+            + " WHERE EMBEDDING_STATUS = '" + CollectionEntity.EMBEDDING_FAILED + "'"
+            + " AND EMBEDDING_FAIL_COUNT < ? AND (EMBEDDING_RETRY_AT IS NULL OR EMBEDDING_RETRY_AT <= SYSDATE)"
+            + " ORDER BY EMBEDDING_RETRY_AT NULLS FIRST, COLLECTIONID FETCH FIRST ? ROWS ONLY";
+
+    private final EmbeddingService embeddingService;
+    private final CollectionSimilarityIndex collectionSimilarityIndex;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${memoire.embedding.worker.max-attempts:5}")
+    private int maxAttempts;
+    @Value("${memoire.embedding.worker.initial-backoff-ms:1000}")
+    private long initialBackoffMs;
+    @Value("${memoire.embedding.worker.sweep-size:100}")
+    private int sweepSize;
+    // FAILED 행을 다시 시도하는 최대 횟수 (넘으면 제목이 바뀔 때까지 그대로 FAILED)
+    @Value("${memoire.embedding.worker.failed-max-retries:5}")
+    private int failedMaxRetries;
+    @Value("${memoire.embedding.worker.failed-cooldown-minutes:30}")
+    private int failedCooldownMinutes;
+
+    // 작업 스레드 2개, 대기 큐 최대 1000개
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1000), runnable -> {
+        Thread thread = new Thread(runnable, "collection-embedding");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // 재시도 대기용
+    private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "collection-embedding-retry");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // 큐에 있거나 처리 중인 컬렉션 (중복 등록 방지)
+    private final Set<Integer> queued = ConcurrentHashMap.newKeySet();
+
+    // 현재 트랜잭션이 커밋된 뒤 작업 등록 (트랜잭션 밖이면 바로 등록)
+    public void submitAfterCommit(int collectionId, String title) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(collectionId, title);
+                }
+            });
+        } else {
+            submit(collectionId, title);
+        }
+    }
+
+    // 작업 등록 (이미 대기 중이거나 큐가 가득 차면 false - 스위퍼가 나중에 다시 등록)
+    public boolean submit(int collectionId, String title) {
+        if (!queued.add(collectionId)) {
+            return false;
+        }
+        try {
+            executor.execute(() -> process(collectionId, title, 1));
+            return true;
+        } catch (RejectedExecutionException e) {
+            queued.remove(collectionId);
+            log.warn("임베딩 작업 큐가 가득 참 - collectionId: {}", collectionId);
+            return false;
+        }
+    }
+
+    private void process(int collectionId, String title, int attempt) {
+        try {
+            float[] vector = embeddingService.embed(title);
+            int updated = jdbcTemplate.update(UPDATE_EMBEDDING_SQL, EmbeddingCodec.encodeInt8(vector), collectionId, title);
+            if (updated > 0) {
+                collectionSimilarityIndex.upsert(collectionId, vector);
+            }
+            queued.remove(collectionId);
+        } catch (Exception e) {
+            // 빈 제목처럼 다시 시도해도 소용없는 입력은 바로 FAILED
+            if (e instanceof IllegalArgumentException || attempt >= maxAttempts) {
+                log.error("컬렉션 임베딩 실패 - collectionId: {}, 시도 {}회", collectionId, attempt, e);
+                markFailed(collectionId, title);
+                queued.remove(collectionId);
+                return;
+            }
+            long backoff = initialBackoffMs << (attempt - 1);
+            log.warn("컬렉션 임베딩 재시도 예정 - collectionId: {}, {}ms 후 ({}회차 실패: {})", collectionId, backoff, attempt, e.getMessage());
+            retryScheduler.schedule(() -> {
+                try {
+                    executor.execute(() -> process(collectionId, title, attempt + 1));
+                } catch (RejectedExecutionException rejected) {
+                    // 큐가 가득 차면 스위퍼가 다시 등록
+                    queued.remove(collectionId);
+                }
+            }, backoff, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void markFailed(int collectionId, String title) {
+        try {
+            jdbcTemplate.update(MARK_FAILED_SQL, failedCooldownMinutes, collectionId, title);
+        } catch (Exception e) {
+            log.error("임베딩 실패 상태 저장 실패 - collectionId: {}", collectionId, e);
+        }
+    }
+
+    // 5분마다 PENDING(큐 유실/재시작)과 재시도 시각이 된 FAILED 컬렉션을 다시 등록
+    // (FAILED는 따로 조회하므로 계속 실패하는 행이 PENDING 행의 자리를 차지하지 않음)
+    @Scheduled(fixedDelayString = "${memoire.embedding.worker.sweep-interval-ms:300000}")
+    public void sweep() {
+        int submitted = resubmit(jdbcTemplate.query(FIND_PENDING_SQL,
+                (rs, rowNum) -> new Object[]{rs.getInt(1), rs.getString(2)}, sweepSize));
+        submitted += resubmit(jdbcTemplate.query(FIND_RETRYABLE_FAILED_SQL,
+                (rs, rowNum) -> new Object[]{rs.getInt(1), rs.getString(2)}, failedMaxRetries, sweepSize));
+        if (submitted > 0) {
+            log.info("임베딩 대기 컬렉션 재등록 - {}건", submitted);
+        }
+    }
+
+    private int resubmit(List<Object[]> rows) {
+        int submitted = 0;
+        for (Object[] row : rows) {
+            if (submit((Integer) row[0], (String) row[1])) {
+                submitted++;
+            }
+        }
+        return submitted;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+        executor.shutdown();
+    }
+}
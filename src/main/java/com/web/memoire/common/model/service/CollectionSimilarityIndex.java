@@ -0,0 +1,490 @@
+package com.web.memoire.common.model.service;
+
+import com.web.memoire.common.util.EmbeddingCodec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 컬렉션 타이틀 임베딩 유사도 인덱스 (메모리).
+ * TB_COLLECTION.TITLE_EMBEDDING_VEC를 L2 정규화한 float 행렬(행 = 컬렉션)로 들고 있고,
+ * 내적(= 코사인 유사도)으로 top-k 유사 컬렉션을 찾는다.
+ * 조회는 스냅샷을 읽기만 하고, 추가/수정은 행렬 끝에 행을 덧붙이고 기존 행은 삭제 표시(tombstone)한 새 스냅샷으로 교체한다.
+ * 배열은 스냅샷끼리 공유하므로 쓰기 한 번에 행렬 전체를 복사하지 않고, 삭제 표시가 쌓이면 그때 한 번 압축한다.
+ * 검색어 임베딩으로 찾는 컬렉션 검색은 같은 벡터로 만든 HNSW 그래프로 근사 검색한다.
+ * 누락 보정을 위해 주기적으로 DB에서 다시 읽는다(삭제 표시된 HNSW 노드도 이때 정리).
+ * 다시 읽는 동안 들어온 추가/삭제는 기록해 두었다가 새 스냅샷으로 교체한 뒤 다시 적용한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CollectionSimilarityIndex {
+
+    private static final String FIND_EMBEDDINGS_SQL = "SELECT COLLECTIONID, TITLE_EMBEDDING_VEC FROM TB_COLLECTION"
+            + " WHERE TITLE_EMBEDDING_VEC IS NOT NULL ORDER BY COLLECTIONID";
+    private static final int LOAD_FETCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${memoire.search.hnsw.m:16}")
+    private int hnswM;
+    @Value("${memoire.search.hnsw.ef-construction:100}")
+    private int hnswEfConstruction;
+    @Value("${memoire.search.hnsw.ef-search:64}")
+    private int hnswEfSearch;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile HnswGraph graph;
+
+    // 재로딩 중 들어온 추가/삭제 (this로 보호, 교체 후 새 스냅샷에 다시 적용)
+    private final List<Change> changesDuringReload = new ArrayList<>();
+    private boolean reloading = false;
+
+    // 시작 시 + 6시간마다 (배치 전용 실행기에서 실행)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${memoire.similarity.reload-cron:0 15 */6 * * *}")
+    @Async("batchJobExecutor")
+    public void reload() {
+        synchronized (this) {
+            reloading = true;
+            changesDuringReload.clear();
+        }
+
+        // BLOB 바이트를 엔티티 변환 없이 행렬 행에 바로 디코딩하고 그 자리에서 정규화
+        Snapshot newSnapshot;
+        HnswGraph newGraph = new HnswGraph(hnswM, hnswEfConstruction);
+        try {
+            MatrixBuilder builder = new MatrixBuilder();
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(FIND_EMBEDDINGS_SQL);
+                statement.setFetchSize(LOAD_FETCH_SIZE);
+                return statement;
+            }, rs -> {
+                builder.add(rs.getInt(1), rs.getBytes(2));
+            });
+            newSnapshot = builder.build();
+            for (int row = 0; row < newSnapshot.size(); row++) {
+                int offset = row * newSnapshot.dim;
+                newGraph.add(newSnapshot.ids[row], Arrays.copyOfRange(newSnapshot.data, offset, offset + newSnapshot.dim));
+            }
+        } catch (Exception e) {
+            // 기존 스냅샷에는 이미 반영되어 있으므로 기록만 비운다
+            log.error("컬렉션 유사도 인덱스 로딩 실패", e);
+            synchronized (this) {
+                reloading = false;
+                changesDuringReload.clear();
+            }
+            return;
+        }
+
+        synchronized (this) {
+            snapshot = newSnapshot;
+            graph = newGraph;
+            changesDuringReload.forEach(change -> {
+                if (change.vector() == null) {
+                    applyRemove(change.collectionId());
+                } else {
+                    applyUpsert(change.collectionId(), change.vector());
+                }
+            });
+            changesDuringReload.clear();
+            reloading = false;
+        }
+        log.info("컬렉션 유사도 인덱스 로딩 완료 - 컬렉션 수: {}, 차원: {}", newSnapshot.size(), newSnapshot.dim);
+    }
+
+    // 컬렉션 생성/수정 시 임베딩 반영 (행렬 끝에 덧붙임, 기존 행은 삭제 표시)
+    public void upsert(int collectionId, float[] titleEmbedding) {
+        float[] vector = normalized(titleEmbedding);
+        if (vector == null) {
+            return;
+        }
+        synchronized (this) {
+            if (reloading) {
+                changesDuringReload.add(new Change(collectionId, vector));
+            }
+            applyUpsert(collectionId, vector);
+        }
+    }
+
+    // 현재 트랜잭션이 커밋된 뒤 제거 (롤백되면 인덱스에 그대로 남김, 트랜잭션 밖이면 바로 제거)
+    public void removeAfterCommit(int collectionId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(collectionId);
+                }
+            });
+        } else {
+            remove(collectionId);
+        }
+    }
+
+    public void remove(int collectionId) {
+        synchronized (this) {
+            if (reloading) {
+                changesDuringReload.add(new Change(collectionId, null));
+            }
+            applyRemove(collectionId);
+        }
+    }
+
+    // this 락을 잡은 상태에서만 호출
+    private void applyUpsert(int collectionId, float[] vector) {
+        Snapshot current = snapshot;
+        if (current.liveCount() > 0 && current.dim != vector.length) {
+            log.warn("임베딩 차원이 다름 - collectionId: {}, dim: {}", collectionId, vector.length);
+            return;
+        }
+        Snapshot next = current.liveCount() == 0
+                ? Snapshot.EMPTY.compacted(vector.length).appended(collectionId, vector)
+                : current.appended(collectionId, vector);
+        snapshot = next.needsCompaction() ? next.compacted(next.dim) : next;
+        // 비어 있던 인덱스에 다른 차원의 벡터가 들어오면 그래프도 새로 시작
+        if (graph == null || (current.liveCount() == 0 && current.dim != vector.length)) {
+            graph = new HnswGraph(hnswM, hnswEfConstruction);
+        }
+        graph.add(collectionId, vector);
+    }
+
+    // this 락을 잡은 상태에서만 호출
+    private void applyRemove(int collectionId) {
+        Snapshot current = snapshot;
+        if (current.rowOf(collectionId) == null) {
+            return;
+        }
+        Snapshot next = current.without(collectionId);
+        snapshot = next.needsCompaction() ? next.compacted(next.dim) : next;
+        if (graph != null) {
+            graph.remove(collectionId);
+        }
+    }
+
+    // 검색 가능한 컬렉션이 하나라도 있는지
+    public boolean isSearchReady() {
+        HnswGraph g = graph;
+        return g != null && g.size() > 0;
+    }
+
+    // 검색어 임베딩과 비슷한 컬렉션 id (HNSW 근사 검색, 유사도 내림차순)
+    public List<Integer> search(float[] queryEmbedding, int k) {
+        float[] query = normalized(queryEmbedding);
+        HnswGraph g = graph;
+        if (query == null || g == null || k <= 0) {
+            return new ArrayList<>();
+        }
+        Snapshot s = snapshot;
+        if (s.liveCount() > 0 && s.dim != query.length) {
+            log.warn("검색어 임베딩 차원이 다름 - dim: {}, 인덱스 dim: {}", query.length, s.dim);
+            return new ArrayList<>();
+        }
+        return g.search(query, k, hnswEfSearch);
+    }
+
+    // collectionId와 비슷한 컬렉션 id (유사도 내림차순, 자기 자신 제외)
+    public List<Integer> moreLikeThis(int collectionId, int k) {
+        return similarTo(List.of(collectionId), k);
+    }
+
+    // 여러 컬렉션(예: 좋아요한 컬렉션들)의 평균 벡터와 비슷한 컬렉션 id (기준 컬렉션 제외)
+    public List<Integer> similarTo(Collection<Integer> seedIds, int k) {
+        Snapshot s = snapshot;
+        if (s.liveCount() == 0 || k <= 0) {
+            return new ArrayList<>();
+        }
+        float[] query = new float[s.dim];
+        Set<Integer> seedRows = new HashSet<>();
+        for (Integer seedId : seedIds) {
+            Integer row = s.rowOf(seedId);
+            if (row != null && seedRows.add(row)) {
+                int offset = row * s.dim;
+                for (int d = 0; d < s.dim; d++) {
+                    query[d] += s.data[offset + d];
+                }
+            }
+        }
+        if (seedRows.isEmpty() || !normalize(query)) {
+            return new ArrayList<>();
+        }
+        return s.topK(query, k, seedRows);
+    }
+
+    // 여러 벡터(예: 태그 임베딩) 각각과 가장 비슷한 컬렉션 top-k (컬렉션id -> 유사도, 유사도 내림차순, minScore 미만 제외)
+    // 행렬을 한 번만 훑으면서 벡터 묶음 전체의 내적을 계산한다
+    public List<Map<Integer, Float>> topKBatch(List<float[]> embeddings, int k, float minScore) {
+        Snapshot s = snapshot;
+        float[][] queries = new float[embeddings.size()][];
+        for (int i = 0; i < queries.length; i++) {
+            float[] query = normalized(embeddings.get(i));
+            queries[i] = query != null && query.length == s.dim ? query : null;
+        }
+        return s.topKBatch(queries, Math.max(k, 0), minScore);
+    }
+
+    // L2 정규화한 복사본 (원본 엔티티 값은 건드리지 않음, 0 벡터면 null)
+    static float[] normalized(float[] embedding) {
+        if (embedding == null || embedding.length == 0) {
+            return null;
+        }
+        float[] vector = Arrays.copyOf(embedding, embedding.length);
+        return normalize(vector) ? vector : null;
+    }
+
+    private static boolean normalize(float[] vector) {
+        return normalize(vector, 0, vector.length);
+    }
+
+    // vector[offset, offset + length) 구간을 L2 정규화 (0 벡터면 false)
+    private static boolean normalize(float[] vector, int offset, int length) {
+        double norm = 0;
+        for (int i = offset; i < offset + length; i++) {
+            norm += vector[i] * vector[i];
+        }
+        if (norm == 0) {
+            return false;
+        }
+        float inv = (float) (1.0 / Math.sqrt(norm));
+        for (int i = offset; i < offset + length; i++) {
+            vector[i] *= inv;
+        }
+        return true;
+    }
+
+    // 재로딩 중 들어온 변경 (vector가 null이면 삭제)
+    private record Change(int collectionId, float[] vector) {
+    }
+
+    // 재로딩용 행렬 빌더: 바이너리 임베딩을 늘려 가는 행렬에 바로 디코딩 (첫 행과 차원이 다르거나 0 벡터면 건너뜀)
+    private static final class MatrixBuilder {
+        private int[] ids = new int[1024];
+        private float[] data = new float[0];
+        private int size = 0;
+        private int dim = -1;
+
+        void add(int collectionId, byte[] bytes) {
+            if (bytes == null || bytes.length < 5) {
+                return;
+            }
+            int rowDim = EmbeddingCodec.dimensionOf(bytes);
+            if (rowDim <= 0 || (dim != -1 && rowDim != dim)) {
+                return;
+            }
+            if (dim == -1) {
+                dim = rowDim;
+                data = new float[ids.length * dim];
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                data = Arrays.copyOf(data, size * 2 * dim);
+            }
+            int offset = size * dim;
+            try {
+                EmbeddingCodec.decodeInto(bytes, data, offset);
+            } catch (RuntimeException e) {
+                log.warn("임베딩 디코딩 실패 - collectionId: {}", collectionId);
+                return;
+            }
+            if (normalize(data, offset, dim)) {
+                ids[size++] = collectionId;
+            }
+        }
+
+        Snapshot build() {
+            return size == 0 ? Snapshot.EMPTY : Snapshot.of(ids, data, size, dim);
+        }
+    }
+
+    // 스냅샷: ids[row] = 컬렉션id, data[row * dim + d] = 정규화된 벡터, removed[row] = 삭제 표시 (row < size만 유효)
+    // 배열과 rowById는 다음 스냅샷과 공유한다. 덧붙이기는 size 뒤에만 쓰므로 이전 스냅샷을 읽는 쪽에 영향이 없고,
+    // 용량이 부족할 때만 배열을 두 배로 늘려 복사한다. (쓰기는 인덱스 모니터 안에서만)
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(new int[0], new float[0], new boolean[0], 0, 0, 0, Map.of());
+
+        final int[] ids;
+        final float[] data;
+        final boolean[] removed;
+        final int size;
+        final int dim;
+        final int removedCount;
+        // 컬렉션id -> 최신 행 (다음 스냅샷이 덧붙인 행도 보이므로 rowOf()로 size 안쪽인지 확인)
+        final Map<Integer, Integer> rowById;
+
+        private Snapshot(int[] ids, float[] data, boolean[] removed, int size, int dim, int removedCount,
+                         Map<Integer, Integer> rowById) {
+            this.ids = ids;
+            this.data = data;
+            this.removed = removed;
+            this.size = size;
+            this.dim = dim;
+            this.removedCount = removedCount;
+            this.rowById = rowById;
+        }
+
+        // 삭제 표시 없는 행렬로 스냅샷 생성
+        static Snapshot of(int[] ids, float[] data, int size, int dim) {
+            Map<Integer, Integer> rowById = new ConcurrentHashMap<>(size * 2);
+            for (int row = 0; row < size; row++) {
+                rowById.put(ids[row], row);
+            }
+            return new Snapshot(ids, data, new boolean[ids.length], size, dim, 0, rowById);
+        }
+
+        int size() {
+            return size;
+        }
+
+        int liveCount() {
+            return size - removedCount;
+        }
+
+        // 이 스냅샷에서 유효한 행 번호 (없거나 삭제되었으면 null)
+        Integer rowOf(int collectionId) {
+            Integer row = rowById.get(collectionId);
+            return row != null && row < size && !removed[row] ? row : null;
+        }
+
+        // 행 하나를 덧붙인 스냅샷 (같은 컬렉션의 기존 행은 삭제 표시)
+        Snapshot appended(int collectionId, float[] vector) {
+            int[] nextIds = ids;
+            float[] nextData = data;
+            boolean[] nextRemoved = removed;
+            if (size == ids.length) {
+                int capacity = Math.max(16, size * 2);
+                nextIds = Arrays.copyOf(ids, capacity);
+                nextData = Arrays.copyOf(data, capacity * dim);
+                nextRemoved = Arrays.copyOf(removed, capacity);
+            }
+            nextIds[size] = collectionId;
+            System.arraycopy(vector, 0, nextData, size * dim, dim);
+            int nextRemovedCount = removedCount;
+            Integer previous = rowOf(collectionId);
+            if (previous != null) {
+                nextRemoved[previous] = true;
+                nextRemovedCount++;
+            }
+            rowById.put(collectionId, size);
+            return new Snapshot(nextIds, nextData, nextRemoved, size + 1, dim, nextRemovedCount, rowById);
+        }
+
+        // 컬렉션 행을 삭제 표시한 스냅샷
+        Snapshot without(int collectionId) {
+            Integer row = rowOf(collectionId);
+            if (row == null) {
+                return this;
+            }
+            removed[row] = true;
+            rowById.remove(collectionId);
+            return new Snapshot(ids, data, removed, size, dim, removedCount + 1, rowById);
+        }
+
+        // 삭제 표시된 행이 절반을 넘으면 압축 (작은 인덱스는 1024행까지 허용)
+        boolean needsCompaction() {
+            return removedCount > Math.max(1024, size / 2);
+        }
+
+        // 살아 있는 행만 새 배열로 복사한 스냅샷 (dim은 빈 스냅샷에서 시작할 때만 의미 있음)
+        Snapshot compacted(int newDim) {
+            int live = liveCount();
+            int[] newIds = new int[Math.max(16, live)];
+            float[] newData = new float[newIds.length * newDim];
+            int next = 0;
+            for (int row = 0; row < size; row++) {
+                if (!removed[row]) {
+                    newIds[next] = ids[row];
+                    System.arraycopy(data, row * dim, newData, next * newDim, newDim);
+                    next++;
+                }
+            }
+            return of(newIds, newData, next, newDim);
+        }
+
+        // 내적 상위 k개 (excludedRows 제외), 최소 힙으로 유지
+        List<Integer> topK(float[] query, int k, Set<Integer> excludedRows) {
+            PriorityQueue<float[]> heap = new PriorityQueue<>(k + 1, Comparator.comparingDouble(e -> e[0]));
+            for (int row = 0; row < size; row++) {
+                if (removed[row] || excludedRows.contains(row)) {
+                    continue;
+                }
+                int offset = row * dim;
+                float score = 0;
+                for (int d = 0; d < dim; d++) {
+                    score += query[d] * data[offset + d];
+                }
+                if (heap.size() < k) {
+                    heap.add(new float[]{score, row});
+                } else if (score > heap.peek()[0]) {
+                    heap.poll();
+                    heap.add(new float[]{score, row});
+                }
+            }
+            List<float[]> sorted = new ArrayList<>(heap);
+            sorted.sort((a, b) -> Float.compare(b[0], a[0]));
+            List<Integer> result = new ArrayList<>(sorted.size());
+            for (float[] entry : sorted) {
+                result.add(ids[(int) entry[1]]);
+            }
+            return result;
+        }
+
+        // 쿼리별 최소 힙을 두고 행 단위로 모든 쿼리와의 내적 계산 (null 쿼리는 빈 결과)
+        List<Map<Integer, Float>> topKBatch(float[][] queries, int k, float minScore) {
+            List<PriorityQueue<float[]>> heaps = new ArrayList<>(queries.length);
+            for (int q = 0; q < queries.length; q++) {
+                heaps.add(new PriorityQueue<>(k + 1, Comparator.comparingDouble(e -> e[0])));
+            }
+            if (k > 0) {
+                for (int row = 0; row < size; row++) {
+                    if (removed[row]) {
+                        continue;
+                    }
+                    int offset = row * dim;
+                    for (int q = 0; q < queries.length; q++) {
+                        float[] query = queries[q];
+                        if (query == null) {
+                            continue;
+                        }
+                        float score = 0;
+                        for (int d = 0; d < dim; d++) {
+                            score += query[d] * data[offset + d];
+                        }
+                        if (score < minScore) {
+                            continue;
+                        }
+                        PriorityQueue<float[]> heap = heaps.get(q);
+                        if (heap.size() < k) {
+                            heap.add(new float[]{score, row});
+                        } else if (score > heap.peek()[0]) {
+                            heap.poll();
+                            heap.add(new float[]{score, row});
+                        }
+                    }
+                }
+            }
+            List<Map<Integer, Float>> results = new ArrayList<>(queries.length);
+            for (PriorityQueue<float[]> heap : heaps) {
+                List<float[]> sorted = new ArrayList<>(heap);
+                sorted.sort((a, b) -> Float.compare(b[0], a[0]));
+                Map<Integer, Float> result = new LinkedHashMap<>();
+                for (float[] entry : sorted) {
+                    result.put(ids[(int) entry[1]], entry[0]);
+                }
+                results.add(result);
+            }
+            return results;
+        }
+    }
+}
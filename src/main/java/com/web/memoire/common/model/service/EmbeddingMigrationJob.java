@@ -0,0 +1,97 @@
+package com.web.memoire.common.model.service;
+
+import com.web.memoire.common.util.EmbeddingCodec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 구버전 JSON(CLOB) 임베딩을 바이너리(BLOB) 컬럼으로 이관한다.
+ * 시작 시 *_EMBEDDING_VEC가 비어 있고 구 CLOB 값이 있는 행만 골라 id 순서(keyset)로 나눠 변환하고 배치 UPDATE 한다.
+ * 이관이 끝난 DB에서는 조회 한 번으로 끝나므로 매번 실행해도 된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmbeddingMigrationJob {
+
+    private static final int BATCH_SIZE = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CollectionSimilarityIndex collectionSimilarityIndex;
+
+    @Value("${memoire.embedding.migrate-on-startup:true}")
+    private boolean migrateEnabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (!migrateEnabled) {
+            return;
+        }
+        int collections = migrate("TB_COLLECTION", "COLLECTIONID", "TITLE_EMBEDDING", "TITLE_EMBEDDING_VEC", EmbeddingCodec::encodeInt8);
+        migrate("TB_TAG", "TAGID", "TAG_EMBEDDING", "TAG_EMBEDDING_VEC", EmbeddingCodec::encodeInt8);
+        migrate("TB_FACEID", "FACEID", "FACE_EMBEDDING", "FACE_EMBEDDING_VEC", EmbeddingCodec::encodeFloat32);
+        // 이관된 컬렉션 임베딩을 유사도/검색 인덱스에 반영
+        if (collections > 0) {
+            collectionSimilarityIndex.reload();
+        }
+    }
+
+    // 테이블 하나 이관, 변환한 행 수 리턴 (JSON 형식이 잘못된 행은 건너뜀)
+    int migrate(String table, String idColumn, String jsonColumn, String vecColumn, Function<float[], byte[]> encoder) {
+        String selectSql = "SELECT " + idColumn + ", " + jsonColumn + " FROM " + table
+                + " WHERE " + vecColumn + " IS NULL AND " + jsonColumn + " IS NOT NULL";
+        String orderSql = " ORDER BY " + idColumn + " FETCH FIRST " + BATCH_SIZE + " ROWS ONLY";
+        String updateSql = "UPDATE " + table + " SET " + vecColumn + " = ? WHERE " + idColumn + " = ?";
+
+        RowMapper<Object[]> rowMapper = (rs, rowNum) -> new Object[]{rs.getObject(1), rs.getString(2)};
+
+        int migrated = 0;
+        int skipped = 0;
+        Object lastId = null;
+        try {
+            while (true) {
+                List<Object[]> rows = lastId == null
+                        ? jdbcTemplate.query(selectSql + orderSql, rowMapper)
+                        : jdbcTemplate.query(selectSql + " AND " + idColumn + " > ?" + orderSql, rowMapper, lastId);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                List<Object[]> batchArgs = new ArrayList<>();
+                for (Object[] row : rows) {
+                    float[] vector = EmbeddingCodec.fromJson((String) row[1]);
+                    if (vector == null) {
+                        skipped++;
+                        continue;
+                    }
+                    batchArgs.add(new Object[]{encoder.apply(vector), row[0]});
+                }
+                if (!batchArgs.isEmpty()) {
+                    jdbcTemplate.batchUpdate(updateSql, batchArgs);
+                    migrated += batchArgs.size();
+                }
+                lastId = rows.get(rows.size() - 1)[0];
+                if (rows.size() < BATCH_SIZE) {
+                    break;
+                }
+            }
+        } catch (DataAccessException e) {
+            // 구 CLOB 컬럼이 이미 삭제된 DB 등
+            log.warn("임베딩 이관 실패 - {}: {}", table, e.getMessage());
+        }
+        if (migrated > 0 || skipped > 0) {
+            log.info("임베딩 이관 완료 - {}: {}건 변환, {}건 건너뜀", table, migrated, skipped);
+        }
+        return migrated;
+    }
+}
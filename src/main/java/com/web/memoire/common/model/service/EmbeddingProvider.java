@@ -0,0 +1,14 @@
+package com.web.memoire.common.model.service;
+
+import java.util.List;
+
+/**
+ * 텍스트 임베딩 제공자.
+ * memoire.embedding.provider 값으로 구현체를 고른다 (openai: OpenAIService, stub: StubEmbeddingProvider).
+ * 직접 호출하지 말고 캐시/요청 합치기를 하는 EmbeddingService를 통해 사용한다.
+ */
+public interface EmbeddingProvider {
+
+    // 여러 텍스트의 임베딩을 한 번에 계산해 입력 순서대로 반환
+    List<float[]> embed(List<String> texts);
+}
@@ -0,0 +1,204 @@
+package com.web.memoire.common.model.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * 텍스트 임베딩 클라이언트 (EmbeddingProvider 앞단).
+ * - 캐시: 정규화한 텍스트(NFC, 앞뒤 공백 제거, 연속 공백 1칸)의 SHA-256 키로 LRU 캐시
+ * - 요청 합치기: 같은 텍스트를 동시에 요청하면 진행 중인 요청 하나의 결과를 같이 받음
+ * - 마이크로 배치: 서로 다른 텍스트는 짧은 대기 시간(batch-window-ms) 동안 모아 한 번의 다중 입력 요청으로 보냄
+ *   배치 요청이 실패하면 텍스트별로 한 번씩 다시 요청해, 문제 있는 입력 하나 때문에 같은 배치의 다른 요청이 실패하지 않게 한다.
+ * 빈 텍스트(정규화 후 공백뿐)는 제공자가 거부하므로 큐에 넣지 않고 바로 IllegalArgumentException을 던진다.
+ * 반환하는 float[]는 캐시와 공유하므로 수정하지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmbeddingService {
+
+    private final EmbeddingProvider embeddingProvider;
+
+    @Value("${memoire.embedding.cache-size:10000}")
+    private int cacheSize;
+    @Value("${memoire.embedding.batch-window-ms:20}")
+    private long batchWindowMs;
+    @Value("${memoire.embedding.max-batch-size:100}")
+    private int maxBatchSize;
+    @Value("${memoire.embedding.timeout-ms:10000}")
+    private long timeoutMs;
+
+    private final Map<String, float[]> cache = new LinkedHashMap<>(256, 0.75f, true);
+    private final ConcurrentHashMap<String, CompletableFuture<float[]>> inFlight = new ConcurrentHashMap<>();
+    private final List<PendingRequest> queue = new ArrayList<>();
+    private boolean flushScheduled = false;
+
+    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "embedding-batcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // 텍스트 하나의 임베딩 (동기, 캐시에 있으면 바로 리턴)
+    public float[] embed(String text) {
+        try {
+            return embedAsync(text).get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("임베딩 요청 실패", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("임베딩 요청 중단", e);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("임베딩 요청 시간 초과", e);
+        }
+    }
+
+    // 여러 텍스트의 임베딩 (입력 순서대로, 동기)
+    public List<float[]> embedAll(List<String> texts) {
+        List<CompletableFuture<float[]>> futures = texts.stream().map(this::embedAsync).toList();
+        List<float[]> vectors = new ArrayList<>(futures.size());
+        for (CompletableFuture<float[]> future : futures) {
+            try {
+                vectors.add(future.get(timeoutMs, TimeUnit.MILLISECONDS));
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("임베딩 요청 실패", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("임베딩 요청 중단", e);
+            } catch (TimeoutException e) {
+                throw new IllegalStateException("임베딩 요청 시간 초과", e);
+            }
+        }
+        return vectors;
+    }
+
+    public CompletableFuture<float[]> embedAsync(String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("빈 텍스트는 임베딩할 수 없습니다.");
+        }
+        String key = hash(normalized);
+
+        float[] cached;
+        synchronized (cache) {
+            cached = cache.get(key);
+        }
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        // 같은 텍스트가 이미 요청 중이면 그 결과를 같이 기다림
+        CompletableFuture<float[]> future = new CompletableFuture<>();
+        CompletableFuture<float[]> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return existing;
+        }
+        enqueue(new PendingRequest(key, normalized, future));
+        return future;
+    }
+
+    private void enqueue(PendingRequest request) {
+        synchronized (queue) {
+            queue.add(request);
+            if (queue.size() >= maxBatchSize) {
+                executor.execute(this::flush);
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                executor.schedule(this::flush, batchWindowMs, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    // 대기 중인 요청을 최대 maxBatchSize개씩 한 번의 제공자 호출로 처리
+    private void flush() {
+        List<PendingRequest> batch;
+        synchronized (queue) {
+            if (queue.isEmpty()) {
+                flushScheduled = false;
+                return;
+            }
+            int size = Math.min(queue.size(), maxBatchSize);
+            batch = new ArrayList<>(queue.subList(0, size));
+            queue.subList(0, size).clear();
+            flushScheduled = !queue.isEmpty();
+            if (flushScheduled) {
+                executor.execute(this::flush);
+            }
+        }
+
+        try {
+            List<float[]> vectors = embeddingProvider.embed(batch.stream().map(PendingRequest::text).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                complete(batch.get(i), i < vectors.size() ? vectors.get(i) : null);
+            }
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                log.error("임베딩 요청 실패", e);
+                batch.get(0).future().completeExceptionally(e);
+            } else {
+                // 배치 중 일부 입력 때문에 실패했을 수 있으므로 하나씩 다시 요청
+                log.warn("임베딩 배치 요청 실패, 개별 요청으로 재시도 - 텍스트 수: {} ({})", batch.size(), e.getMessage());
+                batch.forEach(this::embedOne);
+            }
+        } finally {
+            batch.forEach(request -> inFlight.remove(request.key(), request.future()));
+        }
+    }
+
+    private void embedOne(PendingRequest request) {
+        try {
+            List<float[]> vectors = embeddingProvider.embed(List.of(request.text()));
+            complete(request, vectors.isEmpty() ? null : vectors.get(0));
+        } catch (Exception e) {
+            log.error("임베딩 요청 실패", e);
+            request.future().completeExceptionally(e);
+        }
+    }
+
+    private void complete(PendingRequest request, float[] vector) {
+        if (vector == null) {
+            request.future().completeExceptionally(new IllegalStateException("임베딩 응답 누락"));
+            return;
+        }
+        synchronized (cache) {
+            cache.put(request.key(), vector);
+            if (cache.size() > cacheSize) {
+                cache.remove(cache.keySet().iterator().next());
+            }
+        }
+        request.future().complete(vector);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    static String normalize(String text) {
+        String normalized = Normalizer.normalize(text == null ? "" : text, Normalizer.Form.NFC);
+        return normalized.strip().replaceAll("\\s+", " ");
+    }
+
+    private static String hash(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // 모든 JVM에 SHA-256이 있으므로 발생하지 않음
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record PendingRequest(String key, String text, CompletableFuture<float[]> future) {
+    }
+}
@@ -0,0 +1,209 @@
+package com.web.memoire.common.model.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 팔로잉 피드 수신함 (TB_FOLLOWING_FEED, fan-out-on-write).
+ * 컬렉션을 만들면 작성자의 팔로워 전원의 수신함에 INSERT ... SELECT 한 번으로 추가하고,
+ * 팔로우가 시작되면 상대의 최근 컬렉션을 채워 넣고(backfill), 팔로우가 끝나면 상대의 컬렉션을 지운다.
+ * 피드 조회는 수신함을 작성일 역순 인덱스로 읽으므로 팔로우 수와 상관없이 페이지 크기만큼만 읽는다.
+ * 공개범위/차단 여부는 조회 시점에 판단하므로 수신함에는 공개범위와 상관없이 넣는다.
+ * 컬렉션을 수정하면 작성일이 초기화되므로 수신함의 CREATED_DATE도 커밋 후 같이 갱신한다.
+ * 커밋 후 반영이 실패한 경우를 위해 최근 작성일 컬렉션의 누락 항목/작성일 차이를 주기적으로 다시 맞춘다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FollowingFeedInbox {
+
+    private static final String FAN_OUT_SQL = """
+            INSERT INTO TB_FOLLOWING_FEED (USERID, COLLECTIONID, AUTHORID, CREATED_DATE)
+            SELECT r.USERID, c.COLLECTIONID, c.AUTHORID, c.CREATED_DATE
+              FROM TB_COLLECTION c
+              JOIN TB_RELATIONSHIP r ON r.TARGETID = c.AUTHORID AND r.STATUS = '1'
+             WHERE c.COLLECTIONID = ?
+               AND NOT EXISTS (SELECT 1 FROM TB_FOLLOWING_FEED f WHERE f.USERID = r.USERID AND f.COLLECTIONID = c.COLLECTIONID)
+            """;
+    private static final String BACKFILL_SQL = """
+            INSERT INTO TB_FOLLOWING_FEED (USERID, COLLECTIONID, AUTHORID, CREATED_DATE)
+            SELECT ?, c.COLLECTIONID, c.AUTHORID, c.CREATED_DATE
+              FROM TB_COLLECTION c
+             WHERE c.AUTHORID = ?
+               AND NOT EXISTS (SELECT 1 FROM TB_FOLLOWING_FEED f WHERE f.USERID = ? AND f.COLLECTIONID = c.COLLECTIONID)
+             ORDER BY c.CREATED_DATE DESC, c.COLLECTIONID DESC
+             FETCH FIRST ? ROWS ONLY
+            """;
+    private static final String REMOVE_AUTHOR_SQL = "DELETE FROM TB_FOLLOWING_FEED WHERE USERID = ? AND AUTHORID = ?";
+    private static final String SYNC_CREATED_DATE_SQL = """
+            UPDATE TB_FOLLOWING_FEED f
+               SET CREATED_DATE = (SELECT c.CREATED_DATE FROM TB_COLLECTION c WHERE c.COLLECTIONID = f.COLLECTIONID)
+             WHERE f.COLLECTIONID = ?
+            """;
+    // 최근 ?분 안에 작성일이 바뀐(생성/수정) 컬렉션 중 팔로워 수신함에 없는 항목 추가
+    private static final String RECONCILE_MISSING_SQL = """
+            INSERT INTO TB_FOLLOWING_FEED (USERID, COLLECTIONID, AUTHORID, CREATED_DATE)
+            SELECT r.USERID, c.COLLECTIONID, c.AUTHORID, c.CREATED_DATE
+              FROM TB_COLLECTION c
+              JOIN TB_RELATIONSHIP r ON r.TARGETID = c.AUTHORID AND r.STATUS = '1'
+             WHERE c.CREATED_DATE >= SYSDATE - NUMTODSINTERVAL(?, 'MINUTE')
+               AND NOT EXISTS (SELECT 1 FROM TB_FOLLOWING_FEED f WHERE f.USERID = r.USERID AND f.COLLECTIONID = c.COLLECTIONID)
+            """;
+    // 최근 ?분 안에 작성일이 바뀐 컬렉션 중 수신함 작성일이 다른 항목 갱신
+    private static final String RECONCILE_CREATED_DATE_SQL = """
+            UPDATE TB_FOLLOWING_FEED f
+               SET CREATED_DATE = (SELECT c.CREATED_DATE FROM TB_COLLECTION c WHERE c.COLLECTIONID = f.COLLECTIONID)
+             WHERE EXISTS (SELECT 1 FROM TB_COLLECTION c
+                            WHERE c.COLLECTIONID = f.COLLECTIONID
+                              AND c.CREATED_DATE >= SYSDATE - NUMTODSINTERVAL(?, 'MINUTE')
+                              AND c.CREATED_DATE <> f.CREATED_DATE)
+            """;
+    private static final String REMOVE_COLLECTION_SQL = "DELETE FROM TB_FOLLOWING_FEED WHERE COLLECTIONID = ?";
+    private static final String IS_EMPTY_SQL = "SELECT COUNT(*) FROM (SELECT 1 FROM TB_FOLLOWING_FEED FETCH FIRST 1 ROWS ONLY)";
+    // 모든 팔로우 관계에 대해 작성자별 최근 backfill-size개씩
+    private static final String BACKFILL_ALL_SQL = """
+            INSERT INTO TB_FOLLOWING_FEED (USERID, COLLECTIONID, AUTHORID, CREATED_DATE)
+            SELECT r.USERID, c.COLLECTIONID, c.AUTHORID, c.CREATED_DATE
+              FROM TB_RELATIONSHIP r
+              JOIN (SELECT COLLECTIONID, AUTHORID, CREATED_DATE,
+                           ROW_NUMBER() OVER (PARTITION BY AUTHORID ORDER BY CREATED_DATE DESC, COLLECTIONID DESC) AS RN
+                      FROM TB_COLLECTION) c ON c.AUTHORID = r.TARGETID
+             WHERE r.STATUS = '1' AND c.RN <= ?
+            """;
+    // 유저별 최신 inbox-size개만 남기고 삭제
+    private static final String TRIM_SQL = """
+            DELETE FROM TB_FOLLOWING_FEED
+             WHERE ROWID IN (SELECT RID FROM (SELECT ROWID AS RID,
+                                                     ROW_NUMBER() OVER (PARTITION BY USERID ORDER BY CREATED_DATE DESC, COLLECTIONID DESC) AS RN
+                                                FROM TB_FOLLOWING_FEED)
+                              WHERE RN > ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 팔로우 시작 시 채워 넣는 상대 컬렉션 수
+    @Value("${memoire.feed.backfill-size:100}")
+    private int backfillSize;
+
+    // 유저별 수신함 최대 크기 (넘는 오래된 항목은 매일 정리)
+    @Value("${memoire.feed.inbox-size:1000}")
+    private int inboxSize;
+
+    @Value("${memoire.feed.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    // 보정 대상 범위 (보정 주기와 재시작 시간보다 넉넉하게)
+    @Value("${memoire.feed.reconcile-window-minutes:120}")
+    private int reconcileWindowMinutes;
+
+    // 수신함이 비어 있으면 (테이블 도입 직후) 기존 팔로우 관계로 한 번 채움
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        try {
+            Integer rows = jdbcTemplate.queryForObject(IS_EMPTY_SQL, Integer.class);
+            if (rows != null && rows == 0) {
+                int inserted = jdbcTemplate.update(BACKFILL_ALL_SQL, backfillSize);
+                log.info("팔로잉 피드 수신함 초기 채우기 완료 - {}건", inserted);
+            }
+        } catch (Exception e) {
+            log.error("팔로잉 피드 수신함 초기 채우기 실패", e);
+        }
+    }
+
+    // 현재 트랜잭션이 커밋된 뒤 (컬렉션 행이 DB에 들어간 뒤) 팔로워 수신함에 추가
+    public void fanOutAfterCommit(int collectionId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    fanOut(collectionId);
+                }
+            });
+        } else {
+            fanOut(collectionId);
+        }
+    }
+
+    // 새 컬렉션을 작성자의 팔로워 수신함에 추가, 추가한 수신함 수 리턴
+    public int fanOut(int collectionId) {
+        try {
+            return jdbcTemplate.update(FAN_OUT_SQL, collectionId);
+        } catch (Exception e) {
+            log.error("팔로잉 피드 추가 실패 (주기 보정에서 다시 반영) - collectionId: {}", collectionId, e);
+            return 0;
+        }
+    }
+
+    // 컬렉션 수정(작성일 초기화)이 커밋된 뒤 수신함의 작성일을 컬렉션과 맞춤 (피드 순서/정리 기준 유지)
+    public void syncCreatedDateAfterCommit(int collectionId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    syncCreatedDate(collectionId);
+                }
+            });
+        } else {
+            syncCreatedDate(collectionId);
+        }
+    }
+
+    public void syncCreatedDate(int collectionId) {
+        try {
+            jdbcTemplate.update(SYNC_CREATED_DATE_SQL, collectionId);
+        } catch (Exception e) {
+            log.error("팔로잉 피드 작성일 갱신 실패 (주기 보정에서 다시 반영) - collectionId: {}", collectionId, e);
+        }
+    }
+
+    // 삭제된 컬렉션을 모든 수신함에서 제거
+    public void removeCollection(int collectionId) {
+        jdbcTemplate.update(REMOVE_COLLECTION_SQL, collectionId);
+    }
+
+    // userid -> targetid 관계가 status로 바뀜 ("1": 팔로우 시작 -> 채워 넣기, 그 외: 팔로우 아님 -> 제거)
+    public void onRelationshipChanged(String userid, String targetid, String status) {
+        if ("1".equals(status)) {
+            jdbcTemplate.update(BACKFILL_SQL, userid, targetid, userid, backfillSize);
+        } else {
+            jdbcTemplate.update(REMOVE_AUTHOR_SQL, userid, targetid);
+        }
+    }
+
+    // 10분마다 커밋 후 반영이 실패한 최근 컬렉션 보정 (fan-out 누락, 작성일 불일치)
+    @Scheduled(fixedDelayString = "${memoire.feed.reconcile-interval-ms:600000}",
+            initialDelayString = "${memoire.feed.reconcile-interval-ms:600000}")
+    public void reconcileRecent() {
+        try {
+            int inserted = jdbcTemplate.update(RECONCILE_MISSING_SQL, reconcileWindowMinutes);
+            int updated = jdbcTemplate.update(RECONCILE_CREATED_DATE_SQL, reconcileWindowMinutes);
+            if (inserted > 0 || updated > 0) {
+                log.warn("팔로잉 피드 수신함 보정 - 추가: {}건, 작성일 갱신: {}건", inserted, updated);
+            }
+        } catch (Exception e) {
+            log.error("팔로잉 피드 수신함 보정 실패", e);
+        }
+    }
+
+    // 매일 새벽 5시 15분 수신함 정리 (배치 전용 실행기에서 실행)
+    @Scheduled(cron = "${memoire.feed.trim-cron:0 15 5 * * *}")
+    @Async("batchJobExecutor")
+    public void trim() {
+        int deleted = jdbcTemplate.update(TRIM_SQL, inboxSize);
+        if (deleted > 0) {
+            log.info("팔로잉 피드 수신함 정리 - {}건 삭제", deleted);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.web.memoire.common.model.service;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * HNSW(Hierarchical Navigable Small World) 근사 최근접 이웃 그래프.
+ * 벡터는 L2 정규화되어 있다고 가정하고 내적(= 코사인 유사도)이 큰 순서로 찾는다.
+ * 삭제는 표시만 하고(검색 결과에서 제외, 탐색 경로로는 계속 사용) 다음 재구성 때 정리된다.
+ * 검색은 읽기 락, 추가/삭제는 쓰기 락으로 보호한다.
+ */
+final class HnswGraph {
+
+    private static final int[] NO_LINKS = new int[0];
+
+    private final int m;              // 상위 레벨 최대 이웃 수
+    private final int maxLinksLevel0; // 레벨 0 최대 이웃 수 (2M)
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final Random random = new Random(42);
+
+    // 노드 번호 = 추가된 순서
+    private final List<float[]> vectors = new ArrayList<>();
+    private final List<int[][]> links = new ArrayList<>();   // links[node][level] = 이웃 노드 번호
+    private final List<Integer> idByNode = new ArrayList<>();
+    private final Map<Integer, Integer> nodeById = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    HnswGraph(int m, int efConstruction) {
+        this.m = Math.max(2, m);
+        this.maxLinksLevel0 = this.m * 2;
+        this.efConstruction = Math.max(this.m, efConstruction);
+        this.levelMultiplier = 1.0 / Math.log(this.m);
+    }
+
+    // 살아있는(삭제되지 않은) 노드 수
+    int size() {
+        lock.readLock().lock();
+        try {
+            return nodeById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // id의 벡터 추가 (이미 있으면 기존 노드는 삭제 표시 후 새 노드로 추가)
+    void add(int id, float[] vector) {
+        lock.writeLock().lock();
+        try {
+            Integer previous = nodeById.get(id);
+            if (previous != null) {
+                deleted.set(previous);
+            }
+            int node = vectors.size();
+            int level = randomLevel();
+            int[][] nodeLinks = new int[level + 1][];
+            Arrays.fill(nodeLinks, NO_LINKS);
+            vectors.add(vector);
+            links.add(nodeLinks);
+            idByNode.add(id);
+            nodeById.put(id, node);
+
+            if (entryPoint == -1) {
+                entryPoint = node;
+                maxLevel = level;
+                return;
+            }
+
+            // 새 노드 레벨 위에서는 가장 가까운 노드 하나만 따라 내려간다
+            int ep = entryPoint;
+            for (int l = maxLevel; l > level; l--) {
+                ep = greedyClosest(vector, ep, l);
+            }
+            // 새 노드 레벨부터 0까지 이웃 후보를 찾아 양방향 연결
+            for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+                List<Candidate> found = searchLayer(vector, ep, efConstruction, l);
+                int[] neighbors = new int[Math.min(m, found.size())];
+                for (int i = 0; i < neighbors.length; i++) {
+                    neighbors[i] = found.get(i).node;
+                }
+                nodeLinks[l] = neighbors;
+                for (int neighbor : neighbors) {
+                    connect(neighbor, node, l);
+                }
+                ep = found.get(0).node;
+            }
+            if (level > maxLevel) {
+                maxLevel = level;
+                entryPoint = node;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            Integer node = nodeById.remove(id);
+            if (node != null) {
+                deleted.set(node);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // query와 가까운 id 최대 k개 (유사도 내림차순, 삭제된 노드 제외)
+    List<Integer> search(float[] query, int k, int ef) {
+        lock.readLock().lock();
+        try {
+            List<Integer> result = new ArrayList<>();
+            if (entryPoint == -1 || k <= 0) {
+                return result;
+            }
+            int ep = entryPoint;
+            for (int l = maxLevel; l > 0; l--) {
+                ep = greedyClosest(query, ep, l);
+            }
+            for (Candidate candidate : searchLayer(query, ep, Math.max(ef, k), 0)) {
+                if (!deleted.get(candidate.node)) {
+                    result.add(idByNode.get(candidate.node));
+                    if (result.size() == k) {
+                        break;
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int greedyClosest(float[] query, int ep, int level) {
+        float best = dot(query, vectors.get(ep));
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int neighbor : links.get(ep)[level]) {
+                float score = dot(query, vectors.get(neighbor));
+                if (score > best) {
+                    best = score;
+                    ep = neighbor;
+                    changed = true;
+                }
+            }
+        }
+        return ep;
+    }
+
+    // 한 레벨에서 ef개 후보 탐색 - 유사도 내림차순 리턴
+    private List<Candidate> searchLayer(float[] query, int ep, int ef, int level) {
+        BitSet visited = new BitSet(vectors.size());
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>((a, b) -> Float.compare(b.score, a.score));
+        PriorityQueue<Candidate> results = new PriorityQueue<>((a, b) -> Float.compare(a.score, b.score));
+
+        Candidate start = new Candidate(ep, dot(query, vectors.get(ep)));
+        candidates.add(start);
+        results.add(start);
+        visited.set(ep);
+
+        while (!candidates.isEmpty()) {
+            Candidate current = candidates.poll();
+            if (results.size() >= ef && current.score < results.peek().score) {
+                break;
+            }
+            for (int neighbor : links.get(current.node)[level]) {
+                if (visited.get(neighbor)) {
+                    continue;
+                }
+                visited.set(neighbor);
+                float score = dot(query, vectors.get(neighbor));
+                if (results.size() < ef || score > results.peek().score) {
+                    Candidate next = new Candidate(neighbor, score);
+                    candidates.add(next);
+                    results.add(next);
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+        List<Candidate> sorted = new ArrayList<>(results);
+        sorted.sort((a, b) -> Float.compare(b.score, a.score));
+        return sorted;
+    }
+
+    // node의 level 이웃에 target 추가, 최대 이웃 수를 넘으면 가까운 순으로만 유지
+    private void connect(int node, int target, int level) {
+        int[] current = links.get(node)[level];
+        int[] extended = Arrays.copyOf(current, current.length + 1);
+        extended[current.length] = target;
+        int maxLinks = level == 0 ? maxLinksLevel0 : m;
+        if (extended.length > maxLinks) {
+            float[] base = vectors.get(node);
+            extended = Arrays.stream(extended).boxed()
+                    .sorted(Comparator.comparingDouble((Integer n) -> -dot(base, vectors.get(n))))
+                    .limit(maxLinks)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+        links.get(node)[level] = extended;
+    }
+
+    private int randomLevel() {
+        return (int) Math.floor(-Math.log(1.0 - random.nextDouble()) * levelMultiplier);
+    }
+
+    private static float dot(float[] a, float[] b) {
+        float score = 0;
+        for (int d = 0; d < a.length; d++) {
+            score += a[d] * b[d];
+        }
+        return score;
+    }
+
+    private record Candidate(int node, float score) {
+    }
+}
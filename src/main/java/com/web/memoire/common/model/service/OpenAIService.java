@@ -0,0 +1,89 @@
+package com.web.memoire.common.model.service;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// 기본 임베딩 제공자 (memoire.embedding.provider=openai 또는 미설정)
+@Service
+@ConditionalOnProperty(name = "memoire.embedding.provider", havingValue = "openai", matchIfMissing = true)
+public class OpenAIService implements EmbeddingProvider {
+
+    private final String apiUrl = "https://api.openai.com/v1/embeddings"; // OpenAI 임베딩 API URL
+    @Value("${openai.api.key}")
+    private String apiKey;
+
+    private final WebClient webClient;
+    // WebClient 생성자 주입
+    public OpenAIService(WebClient.Builder webClientBuilder) {
+        this.webClient = webClientBuilder.baseUrl(apiUrl).build();
+    }
+
+    public Mono<String> getEmbedding(String text) {
+        // 요청 보내기
+        return webClient.post()
+                .header("Authorization", "Bearer " + apiKey)
+                .bodyValue(new EmbeddingRequest("text-embedding-3-small", text)) // 요청 본문 (EmbeddingRequest는 아래에서 설명)
+                .retrieve()
+                .bodyToMono(String.class);  // 응답을 String으로 반환
+    }
+
+    // 여러 텍스트의 임베딩을 한 번의 요청으로 가져와 입력 순서대로 반환 (동기)
+    public List<float[]> getEmbeddingVectors(List<String> texts) {
+        if (texts.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String response = webClient.post()
+                .header("Authorization", "Bearer " + apiKey)
+                .bodyValue(new EmbeddingRequest("text-embedding-3-small", texts))
+                .retrieve()
+                .bodyToMono(String.class)
+                .block();
+
+        // 응답의 data[i].index가 입력 순서
+        JSONArray data = new JSONObject(response).getJSONArray("data");
+        float[][] vectors = new float[texts.size()][];
+        for (int i = 0; i < data.length(); i++) {
+            JSONObject item = data.getJSONObject(i);
+            JSONArray embeddingArray = item.getJSONArray("embedding");
+            float[] vector = new float[embeddingArray.length()];
+            for (int d = 0; d < vector.length; d++) {
+                vector[d] = (float) embeddingArray.getDouble(d);
+            }
+            vectors[item.optInt("index", i)] = vector;
+        }
+        return Arrays.asList(vectors);
+    }
+
+    @Override
+    public List<float[]> embed(List<String> texts) {
+        return getEmbeddingVectors(texts);
+    }
+
+    // 임베딩 요청을 위한 DTO 클래스
+    static class EmbeddingRequest {
+        private final String model;
+        private final Object input; // 텍스트 하나(String) 또는 여러 개(List<String>)
+
+        public EmbeddingRequest(String model, Object input) {
+            this.model = model;
+            this.input = input;
+        }
+
+        public String getModel() {
+            return model;
+        }
+
+        public Object getInput() {
+            return input;
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package com.web.memoire.common.model.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 팔로우 요청(0)/팔로우(1)/차단(2) 관계 그래프 (TB_RELATIONSHIP 메모리 사본).
+ * 유저 id를 int로 바꿔 유저별 보낸 관계/받은 관계를 정렬된 int[] + byte[] 배열로 보관하므로
+ * "A가 B를 볼 수 있는지" 같은 판단은 DB 조회 없이 이진 탐색 한 번으로 끝난다.
+ * 시작 시 전체를 읽고, 관계 변경은 커밋 후 update()로 바로 반영하며, 누락 보정을 위해 주기적으로 다시 읽는다.
+ * 로딩이 끝나기 전에는 DB를 직접 조회한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SocialGraph {
+
+    // 관계 없음 (TB_RELATIONSHIP 행 없음)
+    public static final String NONE = "3";
+
+    private static final String FIND_ALL_SQL = "SELECT USERID, TARGETID, STATUS FROM TB_RELATIONSHIP";
+    private static final String FIND_STATUS_SQL = "SELECT STATUS FROM TB_RELATIONSHIP WHERE USERID = ? AND TARGETID = ?";
+    private static final String COUNT_REQUESTS_SQL = "SELECT COUNT(*) FROM TB_RELATIONSHIP WHERE TARGETID = ? AND STATUS = '0'";
+    private static final String FIND_ACCESS_SQL =
+            "SELECT USERID, TARGETID, STATUS FROM TB_RELATIONSHIP WHERE USERID = ? OR (TARGETID = ? AND STATUS = '2')";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Graph graph = new Graph();
+    private boolean ready = false;
+    // 다시 읽는 동안 들어온 변경 (새 그래프로 교체한 뒤 다시 적용)
+    private final List<String[]> changesDuringReload = new ArrayList<>();
+    private boolean reloading = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reload();
+    }
+
+    // 1시간마다 전체 재로딩
+    @Scheduled(fixedDelayString = "${memoire.social-graph.refresh-interval-ms:3600000}",
+            initialDelayString = "${memoire.social-graph.refresh-interval-ms:3600000}")
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            reloading = true;
+            changesDuringReload.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Graph newGraph = new Graph();
+        try {
+            jdbcTemplate.query(FIND_ALL_SQL, rs -> {
+                newGraph.put(rs.getString(1), rs.getString(2), rs.getString(3));
+            });
+        } catch (Exception e) {
+            log.error("관계 그래프 로딩 실패", e);
+            lock.writeLock().lock();
+            try {
+                reloading = false;
+                changesDuringReload.forEach(change -> graph.put(change[0], change[1], change[2]));
+                changesDuringReload.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            changesDuringReload.forEach(change -> newGraph.put(change[0], change[1], change[2]));
+            changesDuringReload.clear();
+            graph = newGraph;
+            reloading = false;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("관계 그래프 로딩 완료 - 유저 수: {}", newGraph.userCount());
+    }
+
+    // 현재 트랜잭션이 커밋된 뒤 userid -> targetid 관계를 status로 반영 (NONE이면 삭제, 트랜잭션 밖이면 바로 반영)
+    public void updateAfterCommit(String userid, String targetid, String status) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update(userid, targetid, status);
+                }
+            });
+        } else {
+            update(userid, targetid, status);
+        }
+    }
+
+    public void update(String userid, String targetid, String status) {
+        if (userid == null || targetid == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (reloading) {
+                changesDuringReload.add(new String[]{userid, targetid, status});
+            }
+            graph.put(userid, targetid, status);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // userid -> targetid 관계 상태 ("0" 요청, "1" 팔로우, "2" 차단, 없으면 NONE)
+    public String statusOf(String userid, String targetid) {
+        lock.readLock().lock();
+        try {
+            if (ready) {
+                return graph.status(userid, targetid);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<String> statuses = jdbcTemplate.queryForList(FIND_STATUS_SQL, String.class, userid, targetid);
+        return statuses.isEmpty() ? NONE : statuses.get(0);
+    }
+
+    // userid가 targetid를 팔로우 중인지
+    public boolean isFollowing(String userid, String targetid) {
+        return "1".equals(statusOf(userid, targetid));
+    }
+
+    // 둘 중 하나라도 상대를 차단했는지
+    public boolean isBlockedEitherWay(String userid, String otherId) {
+        return "2".equals(statusOf(userid, otherId)) || "2".equals(statusOf(otherId, userid));
+    }
+
+    // userid가 받은 팔로우 요청(0) 수 (받은 관계 목록에 유지하는 카운터라 요청 수와 상관없이 바로 리턴)
+    public int pendingRequestCount(String userid) {
+        lock.readLock().lock();
+        try {
+            if (ready) {
+                return graph.pendingRequestCount(userid);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Integer count = jdbcTemplate.queryForObject(COUNT_REQUESTS_SQL, Integer.class, userid);
+        return count == null ? 0 : count;
+    }
+
+    // 접근 권한 판단용 관계 묶음 (userid가 팔로우 중인 유저, 서로 어느 쪽이든 차단한 유저)
+    public AccessEdges accessEdges(String userid) {
+        Set<String> followingIds = new HashSet<>();
+        Set<String> blockedIds = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            if (ready) {
+                graph.collectAccessEdges(userid, followingIds, blockedIds);
+                return new AccessEdges(followingIds, blockedIds);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        jdbcTemplate.query(FIND_ACCESS_SQL, rs -> {
+            boolean outgoing = userid.equals(rs.getString(1));
+            String otherId = outgoing ? rs.getString(2) : rs.getString(1);
+            String status = rs.getString(3);
+            if ("2".equals(status)) {
+                blockedIds.add(otherId);
+            } else if (outgoing && "1".equals(status)) {
+                followingIds.add(otherId);
+            }
+        }, userid, userid);
+        return new AccessEdges(followingIds, blockedIds);
+    }
+
+    public record AccessEdges(Set<String> followingIds, Set<String> blockedIds) {
+    }
+
+    // 유저 id <-> int 번호, 번호별 보낸 관계(outgoing)/받은 관계(incoming)
+    private static final class Graph {
+        private final Map<String, Integer> numbers = new HashMap<>();
+        private final List<String> userIds = new ArrayList<>();
+        private final List<Edges> outgoing = new ArrayList<>();
+        private final List<Edges> incoming = new ArrayList<>();
+
+        int userCount() {
+            return userIds.size();
+        }
+
+        void put(String userid, String targetid, String status) {
+            byte code = encode(status);
+            if (code < 0) {
+                Integer from = numbers.get(userid);
+                Integer to = numbers.get(targetid);
+                if (from != null && to != null) {
+                    outgoing.get(from).remove(to);
+                    incoming.get(to).remove(from);
+                }
+                return;
+            }
+            int from = number(userid);
+            int to = number(targetid);
+            outgoing.get(from).put(to, code);
+            incoming.get(to).put(from, code);
+        }
+
+        String status(String userid, String targetid) {
+            Integer from = numbers.get(userid);
+            Integer to = numbers.get(targetid);
+            if (from == null || to == null) {
+                return NONE;
+            }
+            byte code = outgoing.get(from).get(to);
+            return code < 0 ? NONE : String.valueOf(code);
+        }
+
+        int pendingRequestCount(String userid) {
+            Integer number = numbers.get(userid);
+            return number == null ? 0 : incoming.get(number).requests;
+        }
+
+        void collectAccessEdges(String userid, Set<String> followingIds, Set<String> blockedIds) {
+            Integer number = numbers.get(userid);
+            if (number == null) {
+                return;
+            }
+            Edges out = outgoing.get(number);
+            for (int i = 0; i < out.size; i++) {
+                if (out.statuses[i] == 1) {
+                    followingIds.add(userIds.get(out.targets[i]));
+                } else if (out.statuses[i] == 2) {
+                    blockedIds.add(userIds.get(out.targets[i]));
+                }
+            }
+            Edges in = incoming.get(number);
+            for (int i = 0; i < in.size; i++) {
+                if (in.statuses[i] == 2) {
+                    blockedIds.add(userIds.get(in.targets[i]));
+                }
+            }
+        }
+
+        private int number(String userId) {
+            Integer number = numbers.get(userId);
+            if (number == null) {
+                number = userIds.size();
+                numbers.put(userId, number);
+                userIds.add(userId);
+                outgoing.add(new Edges());
+                incoming.add(new Edges());
+            }
+            return number;
+        }
+
+        // "0"/"1"/"2" -> 0/1/2, 그 외(관계 없음) -> -1
+        private static byte encode(String status) {
+            if (status == null || status.length() != 1 || status.charAt(0) < '0' || status.charAt(0) > '2') {
+                return -1;
+            }
+            return (byte) (status.charAt(0) - '0');
+        }
+    }
+
+    // 상대 번호 오름차순으로 정렬된 관계 목록
+    private static final class Edges {
+        private int[] targets = new int[0];
+        private byte[] statuses = new byte[0];
+        private int size = 0;
+        // 목록 중 요청(0) 상태 수
+        private int requests = 0;
+
+        byte get(int target) {
+            int index = Arrays.binarySearch(targets, 0, size, target);
+            return index >= 0 ? statuses[index] : -1;
+        }
+
+        void put(int target, byte status) {
+            int index = Arrays.binarySearch(targets, 0, size, target);
+            if (index >= 0) {
+                requests += (status == 0 ? 1 : 0) - (statuses[index] == 0 ? 1 : 0);
+                statuses[index] = status;
+                return;
+            }
+            int position = -index - 1;
+            if (size == targets.length) {
+                int capacity = Math.max(4, size * 2);
+                targets = Arrays.copyOf(targets, capacity);
+                statuses = Arrays.copyOf(statuses, capacity);
+            }
+            System.arraycopy(targets, position, targets, position + 1, size - position);
+            System.arraycopy(statuses, position, statuses, position + 1, size - position);
+            targets[position] = target;
+            statuses[position] = status;
+            size++;
+            if (status == 0) {
+                requests++;
+            }
+        }
+
+        void remove(int target) {
+            int index = Arrays.binarySearch(targets, 0, size, target);
+            if (index < 0) {
+                return;
+            }
+            if (statuses[index] == 0) {
+                requests--;
+            }
+            System.arraycopy(targets, index + 1, targets, index, size - index - 1);
+            System.arraycopy(statuses, index + 1, statuses, index, size - index - 1);
+            size--;
+        }
+    }
+}
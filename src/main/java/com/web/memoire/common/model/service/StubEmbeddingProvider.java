@@ -0,0 +1,44 @@
+package com.web.memoire.common.model.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 로컬/테스트용 임베딩 제공자 (memoire.embedding.provider=stub).
+ * 외부 API 호출 없이 텍스트 해시를 시드로 한 결정적(같은 텍스트 = 같은 벡터) 단위 벡터를 만든다.
+ */
+@Component
+@ConditionalOnProperty(name = "memoire.embedding.provider", havingValue = "stub")
+public class StubEmbeddingProvider implements EmbeddingProvider {
+
+    // text-embedding-3-small과 같은 차원
+    @Value("${memoire.embedding.stub-dimension:1536}")
+    private int dimension;
+
+    @Override
+    public List<float[]> embed(List<String> texts) {
+        List<float[]> vectors = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            Random random = new Random(Arrays.hashCode(text.getBytes(StandardCharsets.UTF_8)));
+            float[] vector = new float[dimension];
+            double norm = 0;
+            for (int d = 0; d < dimension; d++) {
+                vector[d] = (float) random.nextGaussian();
+                norm += vector[d] * vector[d];
+            }
+            float inv = (float) (1.0 / Math.sqrt(norm));
+            for (int d = 0; d < dimension; d++) {
+                vector[d] *= inv;
+            }
+            vectors.add(vector);
+        }
+        return vectors;
+    }
+}
@@ -0,0 +1,269 @@
+package com.web.memoire.common.model.service;
+
+import com.web.memoire.common.jpa.repository.TagDictionaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 태그 입력 자동완성 인덱스 (메모리 트라이).
+ * 태그 이름의 모든 접미사를 자모 단위로 풀어 트라이에 넣고, 노드마다 가중치(검색 수 + 좋아요 수) 상위 SUGGESTION_LIMIT개를 미리 저장한다.
+ * 검색은 검색어 길이만큼 노드를 따라 내려가 그 노드의 목록을 그대로 돌려주므로 태그 수와 상관없다.
+ * - 자모 트라이: "가" 까지만 입력해도 "갑", "강" 으로 시작하는 글자와 일치 (입력 중인 글자 대응)
+ * - 초성 트라이: 검색어가 초성(ㄱ~ㅎ)으로만 이루어졌으면 "ㅇㅎ" -> "여행" 처럼 초성으로 검색
+ * 접미사는 앞쪽 MAX_JAMO_DEPTH(자모)/MAX_CHOSEONG_DEPTH(초성)까지만 트라이에 넣어 노드 수가 태그 길이에 비례하게 한다.
+ *  - 태그 하나당 새로 생기는 노드 수 <= 글자 수 x (12 + 6) (255자 태그도 최대 4,590개, 약 1MB)
+ *  - 앞쪽 노드는 태그끼리 공유하므로 실제로는 훨씬 적음: 2~6글자 태그 1만 개 기준 약 10만 노드, 힙 약 20MB
+ * 검색어가 이 깊이보다 길면 트라이 대신 전체 태그 목록을 훑어 포함 여부로 찾는다. (긴 검색어는 드물고 후보가 적음)
+ * 시작 시 TB_TAG 전체로 만들고, 새 태그는 add()로 바로 추가하며, 가중치 변경은 주기적으로 다시 만들어 반영한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TagAutocompleteIndex {
+
+    // 노드마다 저장하는 추천 태그 수
+    public static final int SUGGESTION_LIMIT = 20;
+    // 트라이에 넣는 접미사 최대 길이 (자모 12개 = 받침 없는 글자 6개, 받침 있는 글자 4개 정도)
+    static final int MAX_JAMO_DEPTH = 12;
+    static final int MAX_CHOSEONG_DEPTH = 6;
+
+    private static final char[] CHOSEONG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ', 'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'};
+    private static final char[] JUNGSEONG = {
+            'ㅏ', 'ㅐ', 'ㅑ', 'ㅒ', 'ㅓ', 'ㅔ', 'ㅕ', 'ㅖ', 'ㅗ', 'ㅘ', 'ㅙ', 'ㅚ', 'ㅛ', 'ㅜ', 'ㅝ', 'ㅞ', 'ㅟ', 'ㅠ', 'ㅡ', 'ㅢ', 'ㅣ'};
+    private static final char[] JONGSEONG = {
+            0, 'ㄱ', 'ㄲ', 'ㄳ', 'ㄴ', 'ㄵ', 'ㄶ', 'ㄷ', 'ㄹ', 'ㄺ', 'ㄻ', 'ㄼ', 'ㄽ', 'ㄾ', 'ㄿ', 'ㅀ',
+            'ㅁ', 'ㅂ', 'ㅄ', 'ㅅ', 'ㅆ', 'ㅇ', 'ㅈ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'};
+    private static final String CHOSEONG_SET = new String(CHOSEONG);
+
+    private final TagDictionaryRepository tagDictionaryRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node jamoRoot = new Node();
+    private Node choseongRoot = new Node();
+    // 긴 검색어용 전체 태그 목록 (자모/초성 변환 결과 포함)
+    private List<Entry> entries = new ArrayList<>();
+    private boolean ready = false;
+    // 다시 만드는 동안 추가된 태그 (새 트라이로 교체한 뒤 다시 추가)
+    private final List<String> addedDuringReload = new ArrayList<>();
+    private boolean reloading = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reload();
+    }
+
+    // 10분마다 재생성 (검색 수/좋아요 수 변경 반영)
+    @Scheduled(fixedDelayString = "${memoire.tag-autocomplete.refresh-interval-ms:600000}",
+            initialDelayString = "${memoire.tag-autocomplete.refresh-interval-ms:600000}")
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            reloading = true;
+            addedDuringReload.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Node newJamoRoot = new Node();
+        Node newChoseongRoot = new Node();
+        List<Entry> newEntries = new ArrayList<>();
+        int count = 0;
+        try {
+            for (Object[] row : tagDictionaryRepository.findTagWeights()) {
+                String tagName = (String) row[0];
+                if (tagName != null && !tagName.isBlank()) {
+                    insert(newJamoRoot, newChoseongRoot, newEntries, new Suggestion(tagName, ((Number) row[1]).longValue()));
+                    count++;
+                }
+            }
+        } catch (Exception e) {
+            log.error("태그 자동완성 인덱스 생성 실패", e);
+            lock.writeLock().lock();
+            try {
+                reloading = false;
+                addedDuringReload.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (String tagName : addedDuringReload) {
+                insert(newJamoRoot, newChoseongRoot, newEntries, new Suggestion(tagName, 0));
+            }
+            addedDuringReload.clear();
+            jamoRoot = newJamoRoot;
+            choseongRoot = newChoseongRoot;
+            entries = newEntries;
+            reloading = false;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("태그 자동완성 인덱스 생성 완료 - 태그 수: {}", count);
+    }
+
+    // 새로 만든 태그 추가 (가중치 0)
+    public void add(String tagName) {
+        if (tagName == null || tagName.isBlank()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (reloading) {
+                addedDuringReload.add(tagName);
+            }
+            insert(jamoRoot, choseongRoot, entries, new Suggestion(tagName, 0));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return ready;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 검색어가 포함된 태그 이름 - 가중치순 최대 SUGGESTION_LIMIT개 (빈 검색어면 전체 상위)
+    public List<String> suggest(String keyword) {
+        String normalized = normalize(keyword);
+        boolean choseongOnly = !normalized.isEmpty() && normalized.chars().allMatch(c -> CHOSEONG_SET.indexOf(c) >= 0);
+        String key = choseongOnly ? normalized : decompose(normalized);
+
+        lock.readLock().lock();
+        try {
+            if (key.length() > (choseongOnly ? MAX_CHOSEONG_DEPTH : MAX_JAMO_DEPTH)) {
+                return scan(key, choseongOnly);
+            }
+            Node node = choseongOnly ? choseongRoot : jamoRoot;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+            }
+            if (node == null) {
+                return Collections.emptyList();
+            }
+            return node.suggestions.stream().map(Suggestion::tagName).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 트라이 깊이보다 긴 검색어: 전체 태그 중 포함하는 것을 가중치순으로 (read lock 안에서 호출)
+    private List<String> scan(String key, boolean choseongOnly) {
+        List<Suggestion> matches = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (Entry entry : entries) {
+            String target = choseongOnly ? entry.choseong() : entry.jamo();
+            if (target.contains(key) && seen.add(entry.suggestion().tagName())) {
+                matches.add(entry.suggestion());
+            }
+        }
+        matches.sort(BY_WEIGHT);
+        return matches.stream().limit(SUGGESTION_LIMIT).map(Suggestion::tagName).toList();
+    }
+
+    // 태그 이름의 글자 위치마다 접미사를 (최대 깊이까지) 두 트라이에 추가
+    private static void insert(Node jamoRoot, Node choseongRoot, List<Entry> entries, Suggestion suggestion) {
+        String normalized = normalize(suggestion.tagName());
+        entries.add(new Entry(suggestion, decompose(normalized), choseong(normalized)));
+        jamoRoot.offer(suggestion);
+        choseongRoot.offer(suggestion);
+        for (int i = 0; i < normalized.length(); i++) {
+            // 최대 깊이를 채우는 데 필요한 글자만 분해 (한 글자 = 자모 최소 1개)
+            String suffix = normalized.substring(i, Math.min(normalized.length(), i + MAX_JAMO_DEPTH));
+            insertPath(jamoRoot, decompose(suffix), MAX_JAMO_DEPTH, suggestion);
+            insertPath(choseongRoot, choseong(suffix), MAX_CHOSEONG_DEPTH, suggestion);
+        }
+    }
+
+    private static void insertPath(Node root, String key, int maxDepth, Suggestion suggestion) {
+        Node node = root;
+        int depth = Math.min(key.length(), maxDepth);
+        for (int i = 0; i < depth; i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+            node.offer(suggestion);
+        }
+    }
+
+    // 한글 음절을 초성/중성/종성 호환 자모로 분해 (그 외 글자는 그대로)
+    static String decompose(String text) {
+        StringBuilder sb = new StringBuilder(text.length() * 3);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0xAC00 && c <= 0xD7A3) {
+                int index = c - 0xAC00;
+                sb.append(CHOSEONG[index / 588]).append(JUNGSEONG[(index % 588) / 28]);
+                if (index % 28 != 0) {
+                    sb.append(JONGSEONG[index % 28]);
+                }
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    // 한글 음절을 초성으로 변환 (그 외 글자는 그대로)
+    static String choseong(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            sb.append(c >= 0xAC00 && c <= 0xD7A3 ? CHOSEONG[(c - 0xAC00) / 588] : c);
+        }
+        return sb.toString();
+    }
+
+    static String normalize(String text) {
+        String normalized = Normalizer.normalize(text == null ? "" : text, Normalizer.Form.NFC);
+        return normalized.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private record Suggestion(String tagName, long weight) {
+    }
+
+    private record Entry(Suggestion suggestion, String jamo, String choseong) {
+    }
+
+    // 가중치 내림차순, 같으면 짧은 이름, 이름순
+    private static final Comparator<Suggestion> BY_WEIGHT = Comparator.comparingLong(Suggestion::weight).reversed()
+            .thenComparingInt(suggestion -> suggestion.tagName().length())
+            .thenComparing(Suggestion::tagName);
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private final List<Suggestion> suggestions = new ArrayList<>(2);
+
+        // 상위 SUGGESTION_LIMIT개 유지 (같은 태그가 여러 접미사로 들어오면 한 번만)
+        void offer(Suggestion suggestion) {
+            if (suggestions.size() >= SUGGESTION_LIMIT
+                    && BY_WEIGHT.compare(suggestion, suggestions.get(suggestions.size() - 1)) >= 0) {
+                return;
+            }
+            for (Suggestion existing : suggestions) {
+                if (existing.tagName().equals(suggestion.tagName())) {
+                    return;
+                }
+            }
+            int position = Collections.binarySearch(suggestions, suggestion, BY_WEIGHT);
+            suggestions.add(position < 0 ? -position - 1 : position, suggestion);
+            if (suggestions.size() > SUGGESTION_LIMIT) {
+                suggestions.remove(suggestions.size() - 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.web.memoire.common.model.service;
+
+import com.web.memoire.common.jpa.repository.TagDictionaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 태그 id <-> 이름 사전 (TB_TAG 기반, 읽기 위주).
+ * 시작 시 인기순으로 MAX_ENTRIES개까지 미리 읽어 두고, 없는 태그는 IN 쿼리로 한 번에 읽어 채운다.
+ * 태그 이름은 바뀌지 않으므로 새 태그 생성 시 register()로 추가만 하면 된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TagDictionary {
+
+    // 메모리에 보관하는 최대 태그 수 (넘으면 캐시하지 않고 조회 결과만 리턴)
+    private static final int MAX_ENTRIES = 100_000;
+    // Oracle IN 리스트 최대 개수
+    private static final int IN_LIST_LIMIT = 1000;
+
+    private final TagDictionaryRepository tagDictionaryRepository;
+
+    private final Map<Integer, String> namesById = new ConcurrentHashMap<>();
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<Object[]> rows = tagDictionaryRepository.findTagNames(PageRequest.of(0, MAX_ENTRIES));
+        rows.forEach(this::put);
+        log.info("태그 사전 로딩 완료 - 태그 수: {}", namesById.size());
+    }
+
+    // 새로 만든 태그 등록
+    public void register(int tagid, String tagName) {
+        put(tagid, tagName);
+    }
+
+    public String getName(int tagid) {
+        return getNames(List.of(tagid)).get(tagid);
+    }
+
+    // tagid -> 태그 이름 (존재하지 않는 태그는 결과에서 제외)
+    public Map<Integer, String> getNames(Collection<Integer> tagids) {
+        Map<Integer, String> result = new HashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        for (Integer tagid : new LinkedHashSet<>(tagids)) {
+            String name = namesById.get(tagid);
+            if (name != null) {
+                result.put(tagid, name);
+            } else {
+                missing.add(tagid);
+            }
+        }
+        for (int i = 0; i < missing.size(); i += IN_LIST_LIMIT) {
+            List<Integer> chunk = missing.subList(i, Math.min(i + IN_LIST_LIMIT, missing.size()));
+            for (Object[] row : tagDictionaryRepository.findTagNamesByTagidIn(chunk)) {
+                put(row);
+                result.put(((Number) row[0]).intValue(), (String) row[1]);
+            }
+        }
+        return result;
+    }
+
+    // 태그 이름 -> tagid (없으면 null)
+    public Integer getId(String tagName) {
+        if (tagName == null) {
+            return null;
+        }
+        Integer tagid = idsByName.get(tagName);
+        if (tagid != null) {
+            return tagid;
+        }
+        for (Object[] row : tagDictionaryRepository.findTagNameByTagName(tagName)) {
+            put(row);
+            tagid = ((Number) row[0]).intValue();
+        }
+        return tagid;
+    }
+
+    private void put(Object[] row) {
+        put(((Number) row[0]).intValue(), (String) row[1]);
+    }
+
+    private void put(int tagid, String tagName) {
+        if (tagName == null || (namesById.size() >= MAX_ENTRIES && !namesById.containsKey(tagid))) {
+            return;
+        }
+        namesById.put(tagid, tagName);
+        idsByName.put(tagName, tagid);
+    }
+}
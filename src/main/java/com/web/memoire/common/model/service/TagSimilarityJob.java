@@ -0,0 +1,156 @@
+package com.web.memoire.common.model.service;
+
+import com.web.memoire.common.jpa.repository.TagEmbeddingRepository;
+import com.web.memoire.common.util.EmbeddingCodec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 태그-컬렉션 타이틀 유사도 배치 작업.
+ * 1. 임베딩이 없는 태그를 모아 한 번에 여러 개씩 임베딩해 TAG_EMBEDDING_VEC를 채운다.
+ * 2. 태그 임베딩 묶음과 컬렉션 유사도 인덱스의 행렬을 한 번에 내적해 태그별 top-K 컬렉션을 구하고
+ *    TB_TAG_TITLE_SIMILARITY를 태그 묶음 단위로 교체한다(JDBC 배치).
+ * 토픽 피드는 이 테이블을 조회만 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TagSimilarityJob {
+
+    // 한 번에 임베딩할 태그 수
+    private static final int EMBED_BATCH_SIZE = 100;
+    // 행렬을 한 번 훑을 때 같이 계산할 태그 수
+    private static final int SIMILARITY_BATCH_SIZE = 64;
+
+    private static final String UPDATE_EMBEDDING_SQL = "UPDATE TB_TAG SET TAG_EMBEDDING_VEC = ? WHERE TAGID = ?";
+    private static final String DELETE_SIMILARITY_SQL = "DELETE FROM TB_TAG_TITLE_SIMILARITY WHERE TAGID = ?";
+    private static final String INSERT_SIMILARITY_SQL =
+            "INSERT INTO TB_TAG_TITLE_SIMILARITY (TAGID, COLLECTIONID, SIMILARITY_SCORE, CALC_DATE) VALUES (?, ?, ?, SYSDATE)";
+
+    private final TagEmbeddingRepository tagEmbeddingRepository;
+    private final CollectionSimilarityIndex collectionSimilarityIndex;
+    private final EmbeddingService embeddingService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // 태그당 저장할 유사 컬렉션 수
+    @Value("${memoire.tag-similarity.top-k:50}")
+    private int topK;
+
+    // 이 값 미만의 유사도는 저장하지 않음
+    @Value("${memoire.tag-similarity.min-score:0.3}")
+    private float minScore;
+
+    // 매일 새벽 4시 45분 (인기 점수 보정, 태그 프로필 재집계 이후 - 같은 배치 실행기에서 차례로 실행)
+    @Scheduled(cron = "${memoire.tag-similarity.cron:0 45 4 * * *}")
+    @Async("batchJobExecutor")
+    public void run() {
+        int embedded = embedNewTags();
+        int tags = recomputeSimilarities();
+        log.info("태그 유사도 배치 완료 - 새 태그 임베딩: {}, 유사도 계산 태그: {}", embedded, tags);
+    }
+
+    // 임베딩이 없는 태그를 EMBED_BATCH_SIZE개씩 묶어 임베딩, 채운 태그 수 리턴
+    public int embedNewTags() {
+        int embedded = 0;
+        int afterId = 0;
+        while (true) {
+            List<Object[]> rows = tagEmbeddingRepository.findTagsWithoutEmbedding(afterId, PageRequest.of(0, EMBED_BATCH_SIZE));
+            if (rows.isEmpty()) {
+                break;
+            }
+            afterId = ((Number) rows.get(rows.size() - 1)[0]).intValue();
+
+            List<Integer> tagIds = new ArrayList<>();
+            List<String> tagNames = new ArrayList<>();
+            for (Object[] row : rows) {
+                String tagName = (String) row[1];
+                if (tagName != null && !tagName.isBlank()) {
+                    tagIds.add(((Number) row[0]).intValue());
+                    tagNames.add(tagName);
+                }
+            }
+
+            List<float[]> vectors;
+            try {
+                vectors = embeddingService.embedAll(tagNames);
+            } catch (Exception e) {
+                // 다음 배치 때 다시 시도
+                log.error("태그 임베딩 요청 실패 - 태그 수: {}", tagNames.size(), e);
+                break;
+            }
+            List<Object[]> batchArgs = new ArrayList<>();
+            for (int i = 0; i < tagIds.size(); i++) {
+                if (vectors.get(i) != null) {
+                    batchArgs.add(new Object[]{EmbeddingCodec.encodeInt8(vectors.get(i)), tagIds.get(i)});
+                }
+            }
+            jdbcTemplate.batchUpdate(UPDATE_EMBEDDING_SQL, batchArgs);
+            embedded += batchArgs.size();
+
+            if (rows.size() < EMBED_BATCH_SIZE) {
+                break;
+            }
+        }
+        return embedded;
+    }
+
+    // 임베딩이 있는 모든 태그의 top-K 유사 컬렉션 재계산, 계산한 태그 수 리턴
+    public int recomputeSimilarities() {
+        if (!collectionSimilarityIndex.isSearchReady()) {
+            return 0;
+        }
+        int tags = 0;
+        int afterId = 0;
+        while (true) {
+            List<Object[]> rows = tagEmbeddingRepository.findTagEmbeddings(afterId, PageRequest.of(0, SIMILARITY_BATCH_SIZE));
+            if (rows.isEmpty()) {
+                break;
+            }
+            afterId = ((Number) rows.get(rows.size() - 1)[0]).intValue();
+
+            List<Integer> tagIds = new ArrayList<>();
+            List<float[]> vectors = new ArrayList<>();
+            for (Object[] row : rows) {
+                tagIds.add(((Number) row[0]).intValue());
+                vectors.add((float[]) row[1]);
+            }
+            List<Map<Integer, Float>> similarities = collectionSimilarityIndex.topKBatch(vectors, topK, minScore);
+
+            List<Object[]> deleteArgs = new ArrayList<>();
+            List<Object[]> insertArgs = new ArrayList<>();
+            for (int i = 0; i < tagIds.size(); i++) {
+                Integer tagId = tagIds.get(i);
+                deleteArgs.add(new Object[]{tagId});
+                similarities.get(i).forEach((collectionId, score) ->
+                        insertArgs.add(new Object[]{tagId, collectionId, score.doubleValue()}));
+            }
+            try {
+                // 태그 묶음 단위 트랜잭션 (도중에 실패해도 이전 값 유지)
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate(DELETE_SIMILARITY_SQL, deleteArgs);
+                    jdbcTemplate.batchUpdate(INSERT_SIMILARITY_SQL, insertArgs);
+                });
+                tags += tagIds.size();
+            } catch (Exception e) {
+                log.error("태그 유사도 저장 실패 - tagid {} ~ {}", tagIds.get(0), afterId, e);
+            }
+
+            if (rows.size() < SIMILARITY_BATCH_SIZE) {
+                break;
+            }
+        }
+        return tags;
+    }
+}
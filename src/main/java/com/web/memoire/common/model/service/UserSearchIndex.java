@@ -0,0 +1,246 @@
+package com.web.memoire.common.model.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 유저 닉네임 검색 인덱스 (메모리, n-gram).
+ * 닉네임(NFC, 소문자, 연속 공백 1칸)의 1-gram/2-gram -> 유저 id 역색인을 두고,
+ * 검색어의 2-gram 중 후보가 가장 적은 목록만 훑어 실제로 포함하는지 확인한다. (검색어가 1글자면 1-gram 목록)
+ * 순위: 닉네임 일치 > 앞부분 일치 > 포함(앞쪽일수록 먼저) > 짧은 닉네임 순.
+ * 차단(BAD)/탈퇴(EXIT) 유저는 색인하지 않는다.
+ * 시작 시 TB_USER 전체로 만들고, 가입/닉네임 변경/역할 변경은 커밋 후 바로 반영하며, 누락 보정을 위해 주기적으로 다시 만든다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserSearchIndex {
+
+    private static final String FIND_USERS_SQL = "SELECT USERID, NICKNAME, ROLE FROM TB_USER";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // 유저 id -> 정규화한 닉네임
+    private Map<String, String> nicknames = new HashMap<>();
+    // 1-gram/2-gram -> 유저 id
+    private Map<String, Set<String>> postings = new HashMap<>();
+    // 다시 만드는 동안 들어온 변경 (새 인덱스로 교체한 뒤 다시 적용)
+    private final Map<String, UserRow> changesDuringReload = new LinkedHashMap<>();
+    private boolean reloading = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reload();
+    }
+
+    // 1시간마다 전체 재색인 (소셜 가입 등 훅이 없는 경로 보정)
+    @Scheduled(fixedDelayString = "${memoire.user-search.refresh-interval-ms:3600000}",
+            initialDelayString = "${memoire.user-search.refresh-interval-ms:3600000}")
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            reloading = true;
+            changesDuringReload.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<String, String> newNicknames = new HashMap<>();
+        Map<String, Set<String>> newPostings = new HashMap<>();
+        try {
+            jdbcTemplate.query(FIND_USERS_SQL, rs -> {
+                UserRow row = new UserRow(rs.getString(1), rs.getString(2), rs.getString(3));
+                if (row.isSearchable()) {
+                    add(newNicknames, newPostings, row.userId(), normalize(row.nickname()));
+                }
+            });
+        } catch (Exception e) {
+            log.error("유저 검색 인덱스 생성 실패", e);
+            lock.writeLock().lock();
+            try {
+                reloading = false;
+                changesDuringReload.values().forEach(this::apply);
+                changesDuringReload.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            nicknames = newNicknames;
+            postings = newPostings;
+            changesDuringReload.values().forEach(this::apply);
+            changesDuringReload.clear();
+            reloading = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("유저 검색 인덱스 생성 완료 - {}명", newNicknames.size());
+    }
+
+    // 현재 트랜잭션이 커밋된 뒤 반영 (트랜잭션 밖이면 바로 반영)
+    public void upsertAfterCommit(String userId, String nickname, String role) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    upsert(userId, nickname, role);
+                }
+            });
+        } else {
+            upsert(userId, nickname, role);
+        }
+    }
+
+    // 유저 추가/닉네임 변경/역할 변경 반영 (차단/탈퇴 유저는 인덱스에서 제거)
+    public void upsert(String userId, String nickname, String role) {
+        if (userId == null) {
+            return;
+        }
+        UserRow row = new UserRow(userId, nickname, role);
+        lock.writeLock().lock();
+        try {
+            if (reloading) {
+                changesDuringReload.put(userId, row);
+            }
+            apply(row);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 닉네임에 검색어가 포함된 유저 id - 순위순 최대 limit명
+    public List<String> search(String query, int limit) {
+        String normalizedQuery = normalize(query);
+        if (normalizedQuery.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Set<String> candidates = null;
+            for (String gram : queryGrams(normalizedQuery)) {
+                Set<String> posting = postings.get(gram);
+                if (posting == null) {
+                    return Collections.emptyList();
+                }
+                if (candidates == null || posting.size() < candidates.size()) {
+                    candidates = posting;
+                }
+            }
+            for (String userId : candidates) {
+                String nickname = nicknames.get(userId);
+                int position = nickname.indexOf(normalizedQuery);
+                if (position >= 0) {
+                    matches.add(new Match(userId, nickname, position));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(Comparator.comparingInt((Match match) -> match.rank(normalizedQuery))
+                .thenComparingInt(Match::position)
+                .thenComparingInt(match -> match.nickname().length())
+                .thenComparing(Match::nickname)
+                .thenComparing(Match::userId));
+        return matches.stream().limit(limit).map(Match::userId).toList();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nicknames.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // write lock 안에서 호출
+    private void apply(UserRow row) {
+        String previous = nicknames.remove(row.userId());
+        if (previous != null) {
+            for (String gram : grams(previous)) {
+                Set<String> posting = postings.get(gram);
+                if (posting != null) {
+                    posting.remove(row.userId());
+                    if (posting.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+        if (row.isSearchable()) {
+            add(nicknames, postings, row.userId(), normalize(row.nickname()));
+        }
+    }
+
+    private static void add(Map<String, String> nicknames, Map<String, Set<String>> postings, String userId, String nickname) {
+        if (nickname.isEmpty()) {
+            return;
+        }
+        nicknames.put(userId, nickname);
+        for (String gram : grams(nickname)) {
+            postings.computeIfAbsent(gram, key -> new HashSet<>()).add(userId);
+        }
+    }
+
+    // 닉네임의 모든 1-gram, 2-gram
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i < text.length(); i++) {
+            grams.add(text.substring(i, i + 1));
+            if (i + 2 <= text.length()) {
+                grams.add(text.substring(i, i + 2));
+            }
+        }
+        return grams;
+    }
+
+    // 검색어는 2-gram만 (1글자면 그 글자)
+    private static List<String> queryGrams(String query) {
+        if (query.length() == 1) {
+            return List.of(query);
+        }
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + 2 <= query.length(); i++) {
+            grams.add(query.substring(i, i + 2));
+        }
+        return grams;
+    }
+
+    static String normalize(String text) {
+        String normalized = Normalizer.normalize(text == null ? "" : text, Normalizer.Form.NFC);
+        return normalized.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private record UserRow(String userId, String nickname, String role) {
+        boolean isSearchable() {
+            return nickname != null && !"BAD".equals(role) && !"EXIT".equals(role);
+        }
+    }
+
+    private record Match(String userId, String nickname, int position) {
+        int rank(String query) {
+            if (nickname.equals(query)) {
+                return 0;
+            }
+            return position == 0 ? 1 : 2;
+        }
+    }
+}
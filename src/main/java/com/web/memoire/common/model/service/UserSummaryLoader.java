@@ -0,0 +1,60 @@
+package com.web.memoire.common.model.service;
+
+import com.web.memoire.common.dto.UserSummary;
+import com.web.memoire.common.jpa.repository.UserSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 유저 목록용 요약 정보를 IN 쿼리로 모아서 읽는다.
+ * 유저 수와 상관없이 1000명당 쿼리 1개이며, 공개 컬럼만 읽는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserSummaryLoader {
+
+    // Oracle IN 리스트 최대 개수
+    private static final int IN_LIST_LIMIT = 1000;
+
+    private final UserSummaryRepository userSummaryRepository;
+
+    // 유저 id -> 요약 (존재하지 않는 유저는 제외)
+    public Map<String, UserSummary> load(Collection<String> userIds) {
+        List<String> distinctIds = new ArrayList<>(new LinkedHashSet<>(userIds));
+        Map<String, UserSummary> summaries = new HashMap<>();
+        for (int i = 0; i < distinctIds.size(); i += IN_LIST_LIMIT) {
+            List<String> chunk = distinctIds.subList(i, Math.min(i + IN_LIST_LIMIT, distinctIds.size()));
+            userSummaryRepository.findSummariesByUserIdIn(chunk)
+                    .forEach(summary -> summaries.put(summary.getUserId(), summary));
+        }
+        return summaries;
+    }
+
+    // 유저 id -> 상태 메시지 (유저 카드용, 상태 메시지가 없는 유저는 제외)
+    public Map<String, String> loadStatusMessages(Collection<String> userIds) {
+        List<String> distinctIds = new ArrayList<>(new LinkedHashSet<>(userIds));
+        Map<String, String> statusMessages = new HashMap<>();
+        for (int i = 0; i < distinctIds.size(); i += IN_LIST_LIMIT) {
+            List<String> chunk = distinctIds.subList(i, Math.min(i + IN_LIST_LIMIT, distinctIds.size()));
+            for (Object[] row : userSummaryRepository.findStatusMessagesByUserIdIn(chunk)) {
+                statusMessages.put((String) row[0], (String) row[1]);
+            }
+        }
+        return statusMessages;
+    }
+
+    // userIds 순서를 유지한 요약 목록 (존재하지 않는 유저는 제외)
+    public List<UserSummary> loadInOrder(List<String> userIds) {
+        Map<String, UserSummary> summaries = load(userIds);
+        List<UserSummary> result = new ArrayList<>();
+        for (String userId : userIds) {
+            UserSummary summary = summaries.get(userId);
+            if (summary != null) {
+                result.add(summary);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,100 @@
+package com.web.memoire.common.model.service;
+
+import com.web.memoire.common.entity.UserTagProfileEntity;
+import com.web.memoire.common.jpa.repository.UserTagProfileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * 유저별 태그 빈도 프로필 (TB_USER_TAG_PROFILE).
+ * 컬렉션 생성/수정/삭제, 태그 변경 시 해당 작성자의 프로필만 다시 집계하고,
+ * 누락 보정을 위해 매일 전체를 다시 집계한다.
+ * 유저 카드의 top 태그는 이 테이블 한 번 조회로 만든다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserTagProfileService {
+
+    // 유저 카드에 보여주는 태그 수
+    private static final int TOP_TAG_COUNT = 3;
+
+    private final UserTagProfileRepository userTagProfileRepository;
+    private final TagDictionary tagDictionary;
+    private final TransactionTemplate transactionTemplate;
+
+    // 유저의 공개 컬렉션에 가장 많이 달린 태그 이름 (최대 3개)
+    public List<String> getTopTags(String userid) {
+        List<UserTagProfileEntity> profile = userTagProfileRepository.findTopByUserid(userid, PageRequest.of(0, TOP_TAG_COUNT));
+        Map<Integer, String> tagNames = tagDictionary.getNames(profile.stream().map(UserTagProfileEntity::getTagid).toList());
+
+        List<String> topTags = new ArrayList<>();
+        for (UserTagProfileEntity entry : profile) {
+            String tagName = tagNames.get(entry.getTagid());
+            if (tagName != null) {
+                topTags.add(tagName);
+            }
+        }
+        return topTags;
+    }
+
+    // 여러 유저의 top 태그를 한 번에 (userid -> 태그 이름 최대 3개, 1000명당 쿼리 1개)
+    public Map<String, List<String>> getTopTags(Collection<String> userids) {
+        List<String> distinctIds = new ArrayList<>(new LinkedHashSet<>(userids));
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < distinctIds.size(); i += 1000) {
+            rows.addAll(userTagProfileRepository.findTopTagidsByUseridIn(
+                    distinctIds.subList(i, Math.min(i + 1000, distinctIds.size())), TOP_TAG_COUNT));
+        }
+        Map<Integer, String> tagNames = tagDictionary.getNames(rows.stream().map(row -> ((Number) row[1]).intValue()).toList());
+
+        Map<String, List<String>> topTags = new HashMap<>();
+        for (Object[] row : rows) {
+            String tagName = tagNames.get(((Number) row[1]).intValue());
+            if (tagName != null) {
+                topTags.computeIfAbsent((String) row[0], key -> new ArrayList<>()).add(tagName);
+            }
+        }
+        return topTags;
+    }
+
+    // 작성자 한 명의 프로필 재집계
+    @Transactional
+    public void rebuild(String userid) {
+        if (userid == null) {
+            return;
+        }
+        userTagProfileRepository.deleteByUserid(userid);
+        userTagProfileRepository.insertProfileOf(userid);
+    }
+
+    // 테이블이 비어 있으면(최초 배포) 시작 시 전체 집계
+    @EventListener(ApplicationReadyEvent.class)
+    public void initIfEmpty() {
+        if (userTagProfileRepository.count() == 0) {
+            rebuildAll();
+        }
+    }
+
+    // 매일 새벽 4시 30분 전체 재집계 (배치 전용 실행기에서 실행)
+    // (initIfEmpty에서 self-call로도 부르므로 @Transactional 프록시 대신 TransactionTemplate으로 트랜잭션을 연다)
+    @Scheduled(cron = "${memoire.tag-profile.rebuild-cron:0 30 4 * * *}")
+    @Async("batchJobExecutor")
+    public void rebuildAll() {
+        Integer inserted = transactionTemplate.execute(status -> {
+            userTagProfileRepository.deleteAllProfiles();
+            return userTagProfileRepository.insertAllProfiles();
+        });
+        log.info("유저 태그 프로필 재집계 완료 - 행 수: {}", inserted);
+    }
+}
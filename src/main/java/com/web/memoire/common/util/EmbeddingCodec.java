@@ -0,0 +1,126 @@
+package com.web.memoire.common.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 임베딩 벡터 바이너리 인코딩/디코딩.
+ * 형식: [포맷 1바이트][차원 수 int32] + 본문 (리틀 엔디언)
+ *  - FLOAT32: 차원 수 x float32 (1536차원 = 약 6KB)
+ *  - INT8   : 스케일 float32 + 차원 수 x int8 (값 = int8 * 스케일, 1536차원 = 약 1.5KB)
+ * 디코딩은 포맷 헤더를 보고 자동으로 판단하므로 두 포맷이 섞여 있어도 읽을 수 있다.
+ */
+public class EmbeddingCodec {
+
+    public static final byte FORMAT_FLOAT32 = 1;
+    public static final byte FORMAT_INT8 = 2;
+
+    private static final int HEADER_SIZE = 1 + Integer.BYTES;
+
+    public static byte[] encodeFloat32(float[] vector) {
+        if (vector == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + vector.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(FORMAT_FLOAT32).putInt(vector.length);
+        buffer.asFloatBuffer().put(vector);
+        return buffer.array();
+    }
+
+    // 벡터별 스케일(최대 절댓값 / 127)로 대칭 양자화
+    public static byte[] encodeInt8(float[] vector) {
+        if (vector == null) {
+            return null;
+        }
+        float maxAbs = 0;
+        for (float v : vector) {
+            maxAbs = Math.max(maxAbs, Math.abs(v));
+        }
+        float scale = maxAbs == 0 ? 1f : maxAbs / 127f;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + Float.BYTES + vector.length).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(FORMAT_INT8).putInt(vector.length).putFloat(scale);
+        for (float v : vector) {
+            buffer.put((byte) Math.round(v / scale));
+        }
+        return buffer.array();
+    }
+
+    public static float[] decode(byte[] bytes) {
+        if (bytes == null || bytes.length < HEADER_SIZE) {
+            return null;
+        }
+        float[] vector = new float[dimensionOf(bytes)];
+        decodeInto(bytes, vector, 0);
+        return vector;
+    }
+
+    // 중간 배열 없이 dest[offset ...]에 바로 디코딩, 차원 수 리턴
+    public static int decodeInto(byte[] bytes, float[] dest, int offset) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        byte format = buffer.get();
+        int dim = buffer.getInt();
+        switch (format) {
+            case FORMAT_FLOAT32 -> buffer.asFloatBuffer().get(dest, offset, dim);
+            case FORMAT_INT8 -> {
+                float scale = buffer.getFloat();
+                for (int d = 0; d < dim; d++) {
+                    dest[offset + d] = buffer.get() * scale;
+                }
+            }
+            default -> throw new IllegalArgumentException("지원하지 않는 임베딩 포맷: " + format);
+        }
+        return dim;
+    }
+
+    public static int dimensionOf(byte[] bytes) {
+        return ByteBuffer.wrap(bytes, 1, Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).getInt();
+    }
+
+    // "[0.1, -0.2, ...]" 형식의 JSON 배열 문자열을 float 배열로 변환 (형식이 잘못되면 null)
+    public static float[] fromJson(String json) {
+        if (json == null) {
+            return null;
+        }
+        String body = json.trim();
+        if (body.startsWith("[")) {
+            body = body.substring(1);
+        }
+        if (body.endsWith("]")) {
+            body = body.substring(0, body.length() - 1);
+        }
+        if (body.isBlank()) {
+            return null;
+        }
+        String[] parts = body.split(",");
+        float[] vector = new float[parts.length];
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                vector[i] = Float.parseFloat(parts[i].trim());
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return vector;
+    }
+
+    public static float[] fromList(List<Float> values) {
+        if (values == null) {
+            return null;
+        }
+        float[] vector = new float[values.size()];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = values.get(i);
+        }
+        return vector;
+    }
+
+    public static List<Float> toList(float[] vector) {
+        List<Float> values = new ArrayList<>(vector.length);
+        for (float v : vector) {
+            values.add(v);
+        }
+        return values;
+    }
+}
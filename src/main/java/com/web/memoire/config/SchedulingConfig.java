@@ -0,0 +1,46 @@
+package com.web.memoire.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+@EnableScheduling
+@EnableAsync
+public class SchedulingConfig {
+
+    // 기본 스케줄러는 스레드가 1개라 작업 하나가 늦어지면 조회수 반영 같은 짧은 주기 작업이 모두 밀린다
+    @Value("${memoire.scheduling.pool-size:4}")
+    private int schedulingPoolSize;
+
+    // 전체 재집계/재로딩 같은 긴 배치 작업 동시 실행 수
+    @Value("${memoire.batch.pool-size:1}")
+    private int batchPoolSize;
+
+    @Value("${memoire.batch.queue-capacity:20}")
+    private int batchQueueCapacity;
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(schedulingPoolSize);
+        scheduler.setThreadNamePrefix("scheduling-");
+        return scheduler;
+    }
+
+    // 긴 배치 작업 전용 실행기 (@Async("batchJobExecutor"))
+    // 스케줄러 스레드는 작업을 넘기기만 하고 바로 다음 작업으로 넘어간다
+    @Bean
+    public ThreadPoolTaskExecutor batchJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(batchPoolSize);
+        executor.setMaxPoolSize(batchPoolSize);
+        executor.setQueueCapacity(batchQueueCapacity);
+        executor.setThreadNamePrefix("batch-");
+        return executor;
+    }
+}
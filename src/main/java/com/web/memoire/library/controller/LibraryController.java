@@ -6,6 +6,7 @@ import com.web.memoire.common.dto.FollowRequest;
 import com.web.memoire.library.model.service.LibraryService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
@@ -15,7 +16,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.nio.file.AccessDeniedException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -41,6 +41,17 @@ public class LibraryController {
         }
     }
 
+    // 인기 태그 top N (limit 최대 50)
+    @GetMapping("/toptags")
+    public ResponseEntity<?> getTopTags(@RequestParam(defaultValue = "5") int limit) {
+        try {
+            return ResponseEntity.ok(libraryService.getTopTags(limit));
+        } catch (Exception e) {
+            log.error("Error while fetching tags", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("태그 조회 실패");
+        }
+    }
+
     @GetMapping("/discover/guest/{selectedTag}")
     public ResponseEntity<?> getPage4Anon(@PathVariable String selectedTag,
                                          @PageableDefault(size = 30) Pageable pageable) {
@@ -70,6 +81,23 @@ public class LibraryController {
         return null;
     }
 
+    // 커서 기반 무한 스크롤 (cursor 없으면 첫 페이지, 응답의 nextCursor를 다음 요청에 전달)
+    @GetMapping("/discover/guest/{selectedTag}/cursor")
+    public ResponseEntity<?> getCursorPage4Anon(@PathVariable String selectedTag,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(defaultValue = "30") int size) {
+        log.info("비로그인 유저 커서 피드 조회 - tag: {}, cursor: {}", selectedTag, cursor);
+        try {
+            String tag = (selectedTag.equals("전체") || selectedTag.equals("탐색")) ? null : selectedTag;
+            return ResponseEntity.ok(libraryService.getColls4AnonByCursor(tag, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            log.error("Error while fetching colls by cursor", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("비로그인 유저 컬렉션 조회 실패");
+        }
+    }
+
     // LibCollDetailView.js용 (컬렉션 상세 페이지)=========================================================
     // 컬렉션 아이디로 컬렉션 정보 가져옴
     // TODO: 프론트쪽 요청 바꾸기
@@ -97,6 +125,34 @@ public class LibraryController {
         }
     }
 
+    // 컬렉션 상세 + 메모리 미리보기 첫 페이지 (상세 페이지를 요청 한 번으로)
+    @GetMapping("/collection/detail/{collectionId}/{userid}")
+    public ResponseEntity<?> getCollectionDetailWithMemories(
+            @PathVariable int collectionId,
+            @PathVariable String userid,
+            @PageableDefault(size = 30) Pageable pageable) {
+        log.info("LibraryController.getCollectionDetailWithMemories... collectionId: {}", collectionId);
+        try {
+            return ResponseEntity.ok(libraryService.getCollectionDetailWithMemories(collectionId, userid, pageable));
+        } catch (Exception e) {
+            log.error("Error while fetching collection detail", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("컬렉션 상세 조회 실패");
+        }
+    }
+
+    @GetMapping("/collection/guest/detail/{collectionId}")
+    public ResponseEntity<?> getCollectionDetailWithMemories4Anon(
+            @PathVariable int collectionId,
+            @PageableDefault(size = 30) Pageable pageable) {
+        log.info("LibraryController.getCollectionDetailWithMemories4Anon... collectionId: {}", collectionId);
+        try {
+            return ResponseEntity.ok(libraryService.getCollectionDetailWithMemories4Anon(collectionId, pageable));
+        } catch (Exception e) {
+            log.error("Error while fetching collection detail", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("컬렉션 상세 조회 실패");
+        }
+    }
+
     @PostMapping("/togglelike")
     public ResponseEntity<?> toggleLikeColl(
             @RequestParam("userid") String userid,
@@ -184,6 +240,22 @@ public class LibraryController {
         }
     }
 
+    // 메모리 미리보기 다음 페이지 (userid 없으면 비로그인)
+    @GetMapping("/collection/memories/{collectionid}/previews")
+    public ResponseEntity<?> getMemoryPreviews(
+            @PathVariable int collectionid,
+            @RequestParam(value = "userid", required = false) String userid,
+            @PageableDefault(size = 30) Pageable pageable) {
+        log.info("LibraryController.getMemoryPreviews... collectionid: {}", collectionid);
+
+        try {
+            return ResponseEntity.ok(libraryService.getMemoryPreviews(collectionid, userid, pageable));
+        } catch (Exception e) {
+            log.error("Error while fetching memory previews", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("메모리 조회 실패");
+        }
+    }
+
     // memoryId에 해당하는 메모리 정보 조회
     @GetMapping("/memory/{memoryId}")
     public ResponseEntity<?> getMemoryDetail(@PathVariable int memoryId) {
@@ -262,11 +334,12 @@ public class LibraryController {
     @GetMapping("/search/tag")
     public ResponseEntity<?> searchTags(
             @RequestParam("query") String query,
-            @RequestParam("userid") String userid) {
+            @RequestParam("userid") String userid,
+            @PageableDefault(size = 30) Pageable pageable) {
         log.info("📨 tag 검색어 요청: {}", query);
 
         try {
-            List<CollView> result = libraryService.findCollViewsWithTag(query, userid);
+            Page<CollView> result = libraryService.findCollViewsWithTag(query, userid, pageable);
             // tag 검색수 추가
             libraryService.addTagSearchCount(query);
             return ResponseEntity.ok(result);
@@ -283,13 +356,14 @@ public class LibraryController {
     @GetMapping("/search/user")
     public ResponseEntity<?> searchUsers(
             @RequestParam("query") String query,
-            @RequestParam("loginUserid") String loginUserid) {
+            @RequestParam("loginUserid") String loginUserid,
+            @PageableDefault(size = 30) Pageable pageable) {
         log.info("LibraryController.searchUsers... 검색어: {}, userid: {}", query, loginUserid);
 
         try {
             // 라이브러리 서비스에서 컬렉션 검색 실행
             // 차단 관계가 있는 유저는 검색되면 안 됨
-            return ResponseEntity.ok(libraryService.searchUsers(query, loginUserid));
+            return ResponseEntity.ok(libraryService.searchUsers(query, loginUserid, pageable));
         } catch (Exception e) {
             log.error("컬렉션 검색 실패", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("유저 검색 실패");
@@ -297,18 +371,31 @@ public class LibraryController {
     }
 
     @GetMapping("/followreqs")
-    public ResponseEntity<List<FollowRequest>> getFollowRequests(@RequestParam("userid") String userid) {
+    public ResponseEntity<?> getFollowRequests(
+            @RequestParam("userid") String userid,
+            @PageableDefault(size = 30) Pageable pageable) {
         try {
-            log.info("LibraryController.getFollowRequests... <UNK> userid: {}", userid);
-            List<FollowRequest> followRequests = libraryService.getFollowRequests(userid);
-            log.info("요청 내용:"+followRequests);
+            log.info("LibraryController.getFollowRequests... userid: {}", userid);
+            Page<FollowRequest> followRequests = libraryService.getFollowRequests(userid, pageable);
             if (followRequests.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.NO_CONTENT).body(new ArrayList<>());
+                return ResponseEntity.status(HttpStatus.NO_CONTENT).body(followRequests);
             } else {
                 return ResponseEntity.ok(followRequests);
             }
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+            log.error("팔로우 요청 목록 조회 실패", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("팔로우 요청 목록 조회 실패");
+        }
+    }
+
+    // 받은 팔로우 요청 수 (알림 뱃지)
+    @GetMapping("/followreqs/count")
+    public ResponseEntity<?> countFollowRequests(@RequestParam("userid") String userid) {
+        try {
+            return ResponseEntity.ok(libraryService.countFollowRequests(userid));
+        } catch (Exception e) {
+            log.error("팔로우 요청 수 조회 실패", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("팔로우 요청 수 조회 실패");
         }
     }
 
@@ -393,6 +480,62 @@ public class LibraryController {
         }
     }
 
+    // 커서 기반 무한 스크롤 - 로그인 유저 (전체/탐색은 인기 점수순, 팔로잉 피드는 지원하지 않음)
+    @GetMapping("/discover/loginUser/{selectedTag}/{userid}/cursor")
+    public ResponseEntity<?> getCursorPage4LoginUser(@PathVariable String selectedTag, @PathVariable String userid,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = "30") int size) {
+        log.info("로그인 유저 커서 피드 조회 - userid: {}, tag: {}, cursor: {}", userid, selectedTag, cursor);
+        if (selectedTag.equals("팔로잉")) {
+            return ResponseEntity.badRequest().body("팔로잉 피드는 커서 조회를 지원하지 않습니다.");
+        }
+        try {
+            String tag = (selectedTag.equals("전체") || selectedTag.equals("탐색")) ? null : selectedTag;
+            return ResponseEntity.ok(libraryService.getColls4LoginUserByCursor(userid, tag, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            log.error("Error while fetching colls by cursor", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("로그인 유저 컬렉션 조회 실패");
+        }
+    }
+
+    // 이 컬렉션과 비슷한 컬렉션 (타이틀 임베딩 유사도) - 로그인 유저
+    @GetMapping("/similar/{collectionId}/{userid}")
+    public ResponseEntity<?> getSimilarColls(@PathVariable int collectionId, @PathVariable String userid,
+                                             @RequestParam(defaultValue = "10") int size) {
+        try {
+            return ResponseEntity.ok(libraryService.getSimilarColls(collectionId, userid, size));
+        } catch (Exception e) {
+            log.error("Error while fetching similar colls", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("비슷한 컬렉션 조회 실패");
+        }
+    }
+
+    // 이 컬렉션과 비슷한 공개 컬렉션 - 비로그인 유저
+    @GetMapping("/collection/guest/{collectionId}/similar")
+    public ResponseEntity<?> getSimilarColls4Anon(@PathVariable int collectionId,
+                                                  @RequestParam(defaultValue = "10") int size) {
+        try {
+            return ResponseEntity.ok(libraryService.getSimilarColls(collectionId, null, size));
+        } catch (Exception e) {
+            log.error("Error while fetching similar colls", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("비슷한 컬렉션 조회 실패");
+        }
+    }
+
+    // 최근 좋아요한 컬렉션과 비슷한 컬렉션 추천
+    @GetMapping("/recommend/likes/{userid}")
+    public ResponseEntity<?> getLikeBasedRecs(@PathVariable String userid,
+                                              @RequestParam(defaultValue = "30") int size) {
+        try {
+            return ResponseEntity.ok(libraryService.getLikeBasedRecs(userid, size));
+        } catch (Exception e) {
+            log.error("Error while fetching like based recommendations", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("좋아요 기반 추천 실패");
+        }
+    }
+
     // 메모리 신고 기능
     @PostMapping("/report/{memoryid}/{userid}")
     public ResponseEntity<?> reportMemory(
@@ -414,10 +557,11 @@ public class LibraryController {
     // 좋아요한 사람 리스트 불러오기(로그인 유저 = 컬렉션 주인인 경우만 요청 가능)
     @GetMapping("/whoLiked")
     public ResponseEntity<?> getWhoLiked(@RequestParam int collectionid,
-                                         @RequestParam String userid) {
+                                         @RequestParam String userid,
+                                         @PageableDefault(size = 30) Pageable pageable) {
         log.info("LibController.getWhoLiked...");
         try {
-            return ResponseEntity.ok(libraryService.getWhoLiked(collectionid, userid));
+            return ResponseEntity.ok(libraryService.getWhoLiked(collectionid, userid, pageable));
         } catch (Exception e) {
             log.error("error", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("/follower 에러");
@@ -427,10 +571,11 @@ public class LibraryController {
     // 북마크한 사람 리스트 불러오기(로그인 유저 = 컬렉션 주인인 경우만 요청 가능)
     @GetMapping("/whoBookmarked")
     public ResponseEntity<?> getWhoBookmarked(@RequestParam int collectionid,
-                                         @RequestParam String userid) {
+                                         @RequestParam String userid,
+                                         @PageableDefault(size = 30) Pageable pageable) {
         log.info("LibController.getWhoBookmarked...");
         try {
-            return ResponseEntity.ok(libraryService.getWhoBookmarked(collectionid, userid));
+            return ResponseEntity.ok(libraryService.getWhoBookmarked(collectionid, userid, pageable));
         } catch (Exception e) {
             log.error("error", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("/follower 에러");
@@ -2,11 +2,14 @@ package com.web.memoire.library.jpa.repository;
 
 import com.web.memoire.common.entity.BookmarkEntity;
 import com.web.memoire.common.entity.BookmarkId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -26,11 +29,24 @@ public interface LibBookmarkRepository extends JpaRepository<BookmarkEntity, Boo
     @Query(value = "SELECT b from BookmarkEntity b where b.collectionid = :collectionid")
     List<BookmarkEntity> findAllCollectionBookmarks(@Param("collectionid") int collectionid);
 
-    void deleteByUseridAndCollectionid(String userid, int collectionId);
+    long deleteByUseridAndCollectionid(String userid, int collectionId);
 
     int countBookmarkEntitiesByCollectionid(int collectionId);
 
     List<BookmarkEntity> findByCollectionid(int collectionid);
 
+    // 컬렉션을 북마크한 유저 id 페이지
+    @Query(value = "SELECT b.userid FROM BookmarkEntity b WHERE b.collectionid = :collectionid ORDER BY b.userid",
+            countQuery = "SELECT COUNT(b) FROM BookmarkEntity b WHERE b.collectionid = :collectionid")
+    Page<String> findUseridsByCollectionid(@Param("collectionid") int collectionid, Pageable pageable);
+
     int countByCollectionid(int collectionid);
+
+    // 조회자가 북마크한 컬렉션 id만 IN 리스트로 조회
+    @Query(value = "SELECT b.collectionid FROM BookmarkEntity b WHERE b.userid = :userid AND b.collectionid IN :collectionids")
+    List<Integer> findBookmarkedCollectionIds(@Param("userid") String userid, @Param("collectionids") Collection<Integer> collectionids);
+
+    // 컬렉션별 북마크 수 (collectionid, count)
+    @Query(value = "SELECT b.collectionid, count(b) FROM BookmarkEntity b WHERE b.collectionid IN :collectionids GROUP BY b.collectionid")
+    List<Object[]> countGroupByCollectionid(@Param("collectionids") Collection<Integer> collectionids);
 }
\ No newline at end of file
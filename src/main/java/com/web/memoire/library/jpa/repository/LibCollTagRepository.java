@@ -4,7 +4,10 @@ package com.web.memoire.library.jpa.repository;
 import com.web.memoire.common.dto.CollectionTag;
 import com.web.memoire.common.entity.CollectionTagEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface LibCollTagRepository extends JpaRepository<CollectionTagEntity, Integer>{
@@ -13,4 +16,18 @@ public interface LibCollTagRepository extends JpaRepository<CollectionTagEntity,
     List <CollectionTagEntity> findByTagid(int tagid);
 
     List<CollectionTag> getCollectionTagEntitiesByCollectionid(int collectionId);
+
+    // 여러 컬렉션에 달린 태그를 한 번에 조회 (태그 이름은 TagDictionary로 변환)
+    List<CollectionTagEntity> findByCollectionidIn(Collection<Integer> collectionids);
+
+    // 태그가 달린 컬렉션 id - 인기 점수순 상위 :limit개 (태그 검색 결과 순위)
+    @Query(value = """
+            SELECT ct.COLLECTIONID
+              FROM TB_COLLECTION_TAG ct
+              JOIN TB_COLLECTION c ON c.COLLECTIONID = ct.COLLECTIONID
+             WHERE ct.TAGID = :tagid
+             ORDER BY c.POPULARITY_SCORE DESC, c.COLLECTIONID DESC
+             FETCH FIRST :limit ROWS ONLY
+            """, nativeQuery = true)
+    List<Number> findRankedCollectionIdsByTagid(@Param("tagid") int tagid, @Param("limit") int limit);
 }
@@ -1,13 +1,90 @@
 package com.web.memoire.library.jpa.repository;
 
 import com.web.memoire.common.entity.CollectionEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
 public interface LibCollectionRepository extends JpaRepository<CollectionEntity, Integer> {
 
+    // 작성자가 차단(BAD)/탈퇴(EXIT) 유저가 아닌 컬렉션
+    String FROM_ACTIVE_AUTHOR = """
+              FROM TB_COLLECTION c
+              JOIN TB_USER u ON u.USERID = c.AUTHORID
+             WHERE (u.ROLE IS NULL OR u.ROLE NOT IN ('BAD', 'EXIT'))
+            """;
+
+    // 조회자(:userid)가 접근 가능한 컬렉션 (본인 / 공개 + 차단 관계 없음 / 팔로워 공개 + 팔로우 중)
+    String ACCESSIBLE_BY_USER = """
+               AND (c.AUTHORID = :userid
+                    OR (c.VISIBILITY = 1
+                        AND NOT EXISTS (SELECT 1 FROM TB_RELATIONSHIP r
+                                         WHERE r.STATUS = '2'
+                                           AND ((r.USERID = :userid AND r.TARGETID = c.AUTHORID)
+                                                OR (r.USERID = c.AUTHORID AND r.TARGETID = :userid))))
+                    OR (c.VISIBILITY = 2
+                        AND EXISTS (SELECT 1 FROM TB_RELATIONSHIP r
+                                     WHERE r.USERID = :userid AND r.TARGETID = c.AUTHORID AND r.STATUS = '1')))
+            """;
+
+    // :tagName 태그가 달렸거나, 타이틀이 :tagName 태그와 의미상 비슷한 컬렉션 (TB_TAG_TITLE_SIMILARITY, 배치로 미리 계산)
+    String TAGGED_WITH = """
+               AND (EXISTS (SELECT 1 FROM TB_COLLECTION_TAG ct
+                              JOIN TB_TAG t ON t.TAGID = ct.TAGID
+                             WHERE ct.COLLECTIONID = c.COLLECTIONID AND t.TAG_NAME = :tagName)
+                    OR EXISTS (SELECT 1 FROM TB_TAG_TITLE_SIMILARITY ts
+                                 JOIN TB_TAG t ON t.TAGID = ts.TAGID
+                                WHERE ts.COLLECTIONID = c.COLLECTIONID AND t.TAG_NAME = :tagName))
+            """;
+
+    // 인기 점수(좋아요 수 + 북마크 수 + 조회수) 내림차순 - IDX_COLL_POPULARITY 인덱스 사용
+    String ORDER_BY_POPULARITY = " ORDER BY c.POPULARITY_SCORE DESC, c.COLLECTIONID DESC";
+
+    // 커서(:cursorScore, :cursorId) 다음 위치부터 :limit 개 (keyset 페이징)
+    // 첫 페이지 이후 생성된 컬렉션(:maxId 초과)은 제외해 스크롤 도중 끼어들지 않게 한다
+    String AFTER_CURSOR = """
+               AND c.COLLECTIONID <= :maxId
+               AND c.POPULARITY_SCORE <= :cursorScore
+               AND (c.POPULARITY_SCORE < :cursorScore OR c.COLLECTIONID < :cursorId)
+            """;
+    String FETCH_LIMIT = " FETCH FIRST :limit ROWS ONLY";
+
+    // 유저(:userid)의 추천 후보/상호작용 컬렉션 (TB_USER_COLL_SCORES)
+    String FROM_RECOMMENDED = """
+              FROM TB_USER_COLL_SCORES s
+              JOIN TB_COLLECTION c ON c.COLLECTIONID = s.COLLECTIONID
+              JOIN TB_USER u ON u.USERID = c.AUTHORID
+             WHERE s.USERID = :userid
+               AND (u.ROLE IS NULL OR u.ROLE NOT IN ('BAD', 'EXIT'))
+            """;
+
+    // 아직 보지 않은 후보 먼저, 그 안에서는 유저별 추천 점수 → 인기 점수순
+    String ORDER_BY_RECOMMENDATION = """
+             ORDER BY CASE WHEN NVL(s.SEEN, 0) = 0 AND NVL(s.INTERACTED, 0) = 0 THEN 0 ELSE 1 END,
+                      s.SCORE DESC, c.POPULARITY_SCORE DESC, c.COLLECTIONID DESC
+            """;
+
+    // 유저(:userid)의 팔로잉 피드 수신함 (TB_FOLLOWING_FEED) - 아직 팔로우 중인 작성자만
+    String FROM_FOLLOWING_FEED = """
+              FROM TB_FOLLOWING_FEED f
+              JOIN TB_COLLECTION c ON c.COLLECTIONID = f.COLLECTIONID
+              JOIN TB_USER u ON u.USERID = c.AUTHORID
+             WHERE f.USERID = :userid
+               AND (u.ROLE IS NULL OR u.ROLE NOT IN ('BAD', 'EXIT'))
+               AND EXISTS (SELECT 1 FROM TB_RELATIONSHIP fr
+                            WHERE fr.USERID = :userid AND fr.TARGETID = f.AUTHORID AND fr.STATUS = '1')
+            """;
+
+    // 최신순 - IDX_FEED_USER_CREATED 인덱스 사용
+    String ORDER_BY_FEED_DATE = " ORDER BY f.CREATED_DATE DESC, f.COLLECTIONID DESC";
+
     List<CollectionEntity> findByVisibility(int visibility);
 
     CollectionEntity findByCollectionid(int collectionid);
@@ -25,4 +102,98 @@ public interface LibCollectionRepository extends JpaRepository<CollectionEntity,
     List<CollectionEntity> findByAuthoridAndVisibility(String loginId, int visibility);
 
     List<CollectionEntity> findByCollectionidIn(Set<Integer> collectionIds);
-}
\ No newline at end of file
+
+    // 비로그인 유저용 공개 컬렉션 - 인기 점수순 페이지
+    @Query(value = "SELECT c.*" + FROM_ACTIVE_AUTHOR + " AND c.VISIBILITY = 1" + ORDER_BY_POPULARITY,
+            countQuery = "SELECT COUNT(*)" + FROM_ACTIVE_AUTHOR + " AND c.VISIBILITY = 1",
+            nativeQuery = true)
+    Page<CollectionEntity> findPublicRankedPage(Pageable pageable);
+
+    // 비로그인 유저용 태그별 공개 컬렉션 - 인기 점수순 페이지
+    @Query(value = "SELECT c.*" + FROM_ACTIVE_AUTHOR + " AND c.VISIBILITY = 1" + TAGGED_WITH + ORDER_BY_POPULARITY,
+            countQuery = "SELECT COUNT(*)" + FROM_ACTIVE_AUTHOR + " AND c.VISIBILITY = 1" + TAGGED_WITH,
+            nativeQuery = true)
+    Page<CollectionEntity> findPublicRankedPageByTag(@Param("tagName") String tagName, Pageable pageable);
+
+    // 로그인 유저용 공개/팔로워 공개 컬렉션 - 인기 점수순 페이지
+    @Query(value = "SELECT c.*" + FROM_ACTIVE_AUTHOR + " AND c.VISIBILITY IN (1, 2)" + ACCESSIBLE_BY_USER + ORDER_BY_POPULARITY,
+            countQuery = "SELECT COUNT(*)" + FROM_ACTIVE_AUTHOR + " AND c.VISIBILITY IN (1, 2)" + ACCESSIBLE_BY_USER,
+            nativeQuery = true)
+    Page<CollectionEntity> findAccessibleRankedPage(@Param("userid") String userid, Pageable pageable);
+
+    // 로그인 유저용 태그별 접근 가능 컬렉션 - 인기 점수순 페이지
+    @Query(value = "SELECT c.*" + FROM_ACTIVE_AUTHOR + ACCESSIBLE_BY_USER + TAGGED_WITH + ORDER_BY_POPULARITY,
+            countQuery = "SELECT COUNT(*)" + FROM_ACTIVE_AUTHOR + ACCESSIBLE_BY_USER + TAGGED_WITH,
+            nativeQuery = true)
+    Page<CollectionEntity> findAccessibleRankedPageByTag(@Param("userid") String userid, @Param("tagName") String tagName, Pageable pageable);
+
+    // 로그인 유저 추천 페이지 - 미리 계산된 후보 중 현재 접근 가능한 컬렉션
+    @Query(value = "SELECT c.*" + FROM_RECOMMENDED + ACCESSIBLE_BY_USER + ORDER_BY_RECOMMENDATION,
+            countQuery = "SELECT COUNT(*)" + FROM_RECOMMENDED + ACCESSIBLE_BY_USER,
+            nativeQuery = true)
+    Page<CollectionEntity> findRecommendedPage(@Param("userid") String userid, Pageable pageable);
+
+    // 로그인 유저 팔로잉 피드 - 팔로우 중인 작성자의 접근 가능한 컬렉션 최신순 페이지
+    @Query(value = "SELECT c.*" + FROM_FOLLOWING_FEED + ACCESSIBLE_BY_USER + ORDER_BY_FEED_DATE,
+            countQuery = "SELECT COUNT(*)" + FROM_FOLLOWING_FEED + ACCESSIBLE_BY_USER,
+            nativeQuery = true)
+    Page<CollectionEntity> findFollowingFeedPage(@Param("userid") String userid, Pageable pageable);
+
+    // 비로그인 유저용 공개 컬렉션 - 인기 점수순 커서 페이지
+    @Query(value = "SELECT c.*" + FROM_ACTIVE_AUTHOR + " AND c.VISIBILITY = 1" + AFTER_CURSOR + ORDER_BY_POPULARITY + FETCH_LIMIT,
+            nativeQuery = true)
+    List<CollectionEntity> findPublicRankedAfter(@Param("cursorScore") long cursorScore, @Param("cursorId") int cursorId,
+                                                 @Param("maxId") int maxId, @Param("limit") int limit);
+
+    // 비로그인 유저용 태그별 공개 컬렉션 - 인기 점수순 커서 페이지
+    @Query(value = "SELECT c.*" + FROM_ACTIVE_AUTHOR + " AND c.VISIBILITY = 1" + TAGGED_WITH + AFTER_CURSOR + ORDER_BY_POPULARITY + FETCH_LIMIT,
+            nativeQuery = true)
+    List<CollectionEntity> findPublicRankedAfterByTag(@Param("tagName") String tagName, @Param("cursorScore") long cursorScore,
+                                                      @Param("cursorId") int cursorId, @Param("maxId") int maxId,
+                                                      @Param("limit") int limit);
+
+    // 로그인 유저용 공개/팔로워 공개 컬렉션 - 인기 점수순 커서 페이지
+    @Query(value = "SELECT c.*" + FROM_ACTIVE_AUTHOR + " AND c.VISIBILITY IN (1, 2)" + ACCESSIBLE_BY_USER + AFTER_CURSOR + ORDER_BY_POPULARITY + FETCH_LIMIT,
+            nativeQuery = true)
+    List<CollectionEntity> findAccessibleRankedAfter(@Param("userid") String userid, @Param("cursorScore") long cursorScore,
+                                                     @Param("cursorId") int cursorId, @Param("maxId") int maxId,
+                                                     @Param("limit") int limit);
+
+    // 로그인 유저용 태그별 접근 가능 컬렉션 - 인기 점수순 커서 페이지
+    @Query(value = "SELECT c.*" + FROM_ACTIVE_AUTHOR + ACCESSIBLE_BY_USER + TAGGED_WITH + AFTER_CURSOR + ORDER_BY_POPULARITY + FETCH_LIMIT,
+            nativeQuery = true)
+    List<CollectionEntity> findAccessibleRankedAfterByTag(@Param("userid") String userid, @Param("tagName") String tagName,
+                                                          @Param("cursorScore") long cursorScore, @Param("cursorId") int cursorId,
+                                                          @Param("maxId") int maxId, @Param("limit") int limit);
+
+    // 커서 피드 첫 페이지 시점 고정용 - 현재 가장 큰 컬렉션id (PK 인덱스 끝만 읽음)
+    @Query(value = "SELECT NVL(MAX(COLLECTIONID), 0) FROM TB_COLLECTION", nativeQuery = true)
+    int findMaxCollectionid();
+
+    // ids 중 조회자가 접근 가능한 컬렉션 id (검색 결과 권한 필터용, ids는 1000개 이하)
+    @Query(value = "SELECT c.COLLECTIONID" + FROM_ACTIVE_AUTHOR + " AND c.COLLECTIONID IN (:ids)" + ACCESSIBLE_BY_USER,
+            nativeQuery = true)
+    List<Number> findAccessibleIdsIn(@Param("userid") String userid, @Param("ids") Collection<Integer> ids);
+
+    // ids 중 비로그인 유저가 볼 수 있는 공개 컬렉션 id (ids는 1000개 이하)
+    @Query(value = "SELECT c.COLLECTIONID" + FROM_ACTIVE_AUTHOR + " AND c.COLLECTIONID IN (:ids) AND c.VISIBILITY = 1",
+            nativeQuery = true)
+    List<Number> findPublicIdsIn(@Param("ids") Collection<Integer> ids);
+
+    // 인기 점수 증감 (좋아요/북마크 추가 +1, 취소 -1)
+    @Modifying
+    @Query(value = "UPDATE TB_COLLECTION SET POPULARITY_SCORE = POPULARITY_SCORE + :delta WHERE COLLECTIONID = :collectionid", nativeQuery = true)
+    int addPopularityScore(@Param("collectionid") int collectionid, @Param("delta") int delta);
+
+    // 인기 점수 일괄 재계산 (증감 누락/불일치 보정용) - 값이 다른 행만 수정
+    @Modifying
+    @Query(value = """
+            UPDATE TB_COLLECTION c
+               SET c.POPULARITY_SCORE = (SELECT COUNT(*) FROM TB_COLL_LIKE l WHERE l.COLLECTIONID = c.COLLECTIONID)
+                                      + (SELECT COUNT(*) FROM TB_COLL_BOOKMARK b WHERE b.COLLECTIONID = c.COLLECTIONID)
+                                      + c.READ_COUNT
+             WHERE c.POPULARITY_SCORE <> (SELECT COUNT(*) FROM TB_COLL_LIKE l WHERE l.COLLECTIONID = c.COLLECTIONID)
+                                       + (SELECT COUNT(*) FROM TB_COLL_BOOKMARK b WHERE b.COLLECTIONID = c.COLLECTIONID)
+                                       + c.READ_COUNT""", nativeQuery = true)
+    int reconcilePopularityScores();
+}
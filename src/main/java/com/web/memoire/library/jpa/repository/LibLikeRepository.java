@@ -2,7 +2,11 @@ package com.web.memoire.library.jpa.repository;
 
 import com.web.memoire.common.entity.LikeEntity;
 import com.web.memoire.common.entity.LikeId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Collection;
 import java.util.List;
@@ -10,7 +14,7 @@ import java.util.List;
 public interface LibLikeRepository extends JpaRepository<LikeEntity, LikeId> {
     LikeEntity findByUseridAndCollectionid(String userId, int collectionId);
 
-    void deleteByUseridAndCollectionid(String userid, int collectionId);
+    long deleteByUseridAndCollectionid(String userid, int collectionId);
 
     int countLikeEntitiesByCollectionid(int collectionId);
 
@@ -18,5 +22,22 @@ public interface LibLikeRepository extends JpaRepository<LikeEntity, LikeId> {
 
     List<LikeEntity> findByCollectionid(int collectionid);
 
+    // 컬렉션에 좋아요한 유저 id 페이지 (최신순)
+    @Query(value = "SELECT l.userid FROM LikeEntity l WHERE l.collectionid = :collectionid ORDER BY l.likedDate DESC, l.userid",
+            countQuery = "SELECT COUNT(l) FROM LikeEntity l WHERE l.collectionid = :collectionid")
+    Page<String> findUseridsByCollectionid(@Param("collectionid") int collectionid, Pageable pageable);
+
     Collection<Object> findByUserid(String userid);
+
+    // 유저가 최근에 좋아요한 컬렉션 id (최신순)
+    @Query("SELECT l.collectionid FROM LikeEntity l WHERE l.userid = :userid ORDER BY l.likedDate DESC")
+    List<Integer> findRecentLikedCollectionIds(@Param("userid") String userid, Pageable pageable);
+
+    // 조회자가 좋아요한 컬렉션 id만 IN 리스트로 조회
+    @Query("SELECT l.collectionid FROM LikeEntity l WHERE l.userid = :userid AND l.collectionid IN :collectionids")
+    List<Integer> findLikedCollectionIds(@Param("userid") String userid, @Param("collectionids") Collection<Integer> collectionids);
+
+    // 컬렉션별 좋아요 수 (collectionid, count)
+    @Query("SELECT l.collectionid, COUNT(l) FROM LikeEntity l WHERE l.collectionid IN :collectionids GROUP BY l.collectionid")
+    List<Object[]> countGroupByCollectionid(@Param("collectionids") Collection<Integer> collectionids);
 }
@@ -2,8 +2,13 @@ package com.web.memoire.library.jpa.repository;
 
 
 import com.web.memoire.common.entity.MemoryEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface LibMemoryRepository extends JpaRepository<MemoryEntity, Integer> {
@@ -13,5 +18,29 @@ public interface LibMemoryRepository extends JpaRepository<MemoryEntity, Integer
 
     List<MemoryEntity> findByCollectionid(int collectionid);
 
+    // 컬렉션의 메모리 - 순서대로
+    List<MemoryEntity> findByCollectionidOrderByMemoryOrderAsc(int collectionid);
+
+    // 컬렉션의 메모리 미리보기 페이지 (MEMORY_ORDER 순, CONTENT는 앞 previewLength자와 전체 길이만)
+    // [0] MEMORYID, [1] MEMORY_TYPE, [2] COLLECTIONID, [3] TITLE, [4] CONTENT_PREVIEW, [5] CONTENT_LENGTH,
+    // [6] FILENAME, [7] FILEPATH, [8] CREATED_DATE, [9] MEMORY_ORDER
+    @Query(value = """
+            SELECT MEMORYID, MEMORY_TYPE, COLLECTIONID, TITLE,
+                   DBMS_LOB.SUBSTR(CONTENT, :previewLength, 1) AS CONTENT_PREVIEW,
+                   DBMS_LOB.GETLENGTH(CONTENT) AS CONTENT_LENGTH,
+                   FILENAME, FILEPATH, CREATED_DATE, MEMORY_ORDER
+              FROM TB_MEMORY
+             WHERE COLLECTIONID = :collectionid
+             ORDER BY MEMORY_ORDER, MEMORYID
+            """,
+            countQuery = "SELECT COUNT(*) FROM TB_MEMORY WHERE COLLECTIONID = :collectionid",
+            nativeQuery = true)
+    Page<Object[]> findMemoryPreviews(@Param("collectionid") int collectionid,
+                                      @Param("previewLength") int previewLength,
+                                      Pageable pageable);
+
     MemoryEntity findByMemoryid(int i);
+
+    // 여러 컬렉션의 memory_order = 1 메모리(썸네일)를 한 번에 조회
+    List<MemoryEntity> findByCollectionidInAndMemoryOrder(Collection<Integer> collectionIds, int memoryOrder);
 }
\ No newline at end of file
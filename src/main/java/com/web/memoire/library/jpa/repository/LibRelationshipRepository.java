@@ -1,7 +1,10 @@
 package com.web.memoire.library.jpa.repository;
 
+import com.web.memoire.common.dto.FollowRequest;
 import com.web.memoire.common.entity.RelationshipEntity;
 import com.web.memoire.common.entity.RelationshipId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -18,5 +21,10 @@ public interface LibRelationshipRepository extends JpaRepository<RelationshipEnt
 
     Optional<RelationshipEntity> findByUseridAndTargetid(String userId, String authorid);
 
-    List<RelationshipEntity> findByTargetidAndStatus(String userid, String number);
+    // 받은 팔로우 요청 페이지 - 요청자 닉네임/프로필을 조인해 한 번에 조회 (최신 요청순)
+    @Query(value = "SELECT new com.web.memoire.common.dto.FollowRequest(r.userid, u.nickname, u.profileImagePath)"
+            + " FROM RelationshipEntity r JOIN UserEntity u ON r.userid = u.userId"
+            + " WHERE r.targetid = :userid AND r.status = '0' ORDER BY r.followDate DESC, r.userid",
+            countQuery = "SELECT count(r) FROM RelationshipEntity r WHERE r.targetid = :userid AND r.status = '0'")
+    Page<FollowRequest> findFollowRequests(@Param("userid") String userid, Pageable pageable);
 }
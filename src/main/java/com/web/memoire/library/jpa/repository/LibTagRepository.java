@@ -2,7 +2,9 @@ package com.web.memoire.library.jpa.repository;
 
 import com.web.memoire.common.entity.TagEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -24,4 +26,18 @@ public interface LibTagRepository extends JpaRepository<TagEntity, Integer> {
 
     @Query(value = "SELECT * FROM (SELECT t.* FROM TB_TAG t ORDER BY (t.SEARCH_COUNT + t.LIKE_COUNT) DESC) WHERE ROWNUM <= 5", nativeQuery = true)
     List<TagEntity> findTop5BySearchCountPlusLikeCount();
+
+    // 컬렉션에 달린 모든 태그의 좋아요 수 +1
+    @Modifying
+    @Query(value = "UPDATE TB_TAG SET LIKE_COUNT = LIKE_COUNT + 1 WHERE TAGID IN (SELECT TAGID FROM TB_COLLECTION_TAG WHERE COLLECTIONID = :collectionid)", nativeQuery = true)
+    int increaseLikeCountByCollectionid(@Param("collectionid") int collectionid);
+
+    // 태그 검색 횟수 +1
+    @Modifying
+    @Query(value = "UPDATE TB_TAG SET SEARCH_COUNT = SEARCH_COUNT + 1 WHERE TAG_NAME = :tagName", nativeQuery = true)
+    int increaseSearchCountByTagName(@Param("tagName") String tagName);
+
+    // 검색 수 + 좋아요 수 상위 limit개
+    @Query(value = "SELECT t.* FROM TB_TAG t ORDER BY (t.SEARCH_COUNT + t.LIKE_COUNT) DESC, t.TAGID FETCH FIRST :limit ROWS ONLY", nativeQuery = true)
+    List<TagEntity> findTopTags(@Param("limit") int limit);
 }
\ No newline at end of file
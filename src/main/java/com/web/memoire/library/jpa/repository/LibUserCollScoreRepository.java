@@ -1,9 +1,9 @@
 package com.web.memoire.library.jpa.repository;
 
-import com.web.memoire.common.entity.TagEntity;
 import com.web.memoire.common.entity.UserCollScoreEntity;
 import com.web.memoire.common.entity.UserCollScoreId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -16,4 +16,37 @@ public interface LibUserCollScoreRepository extends JpaRepository<UserCollScoreE
     UserCollScoreEntity findByUserAndCollection(@Param("userid") String userid, @Param("collectionid") int collectionid);
 
     List<UserCollScoreEntity> findByUseridOrderByScoreDesc(String userid);
+
+    // 아직 보지 않은(seen=0, interacted=0) 추천 후보 수
+    @Query(value = "SELECT COUNT(*) FROM TB_USER_COLL_SCORES WHERE USERID = :userid AND NVL(SEEN, 0) = 0 AND NVL(INTERACTED, 0) = 0", nativeQuery = true)
+    int countCandidates(@Param("userid") String userid);
+
+    // 아직 보지 않은 추천 후보 삭제 (조회/좋아요/북마크 이력이 있는 행은 유지)
+    @Modifying
+    @Query(value = "DELETE FROM TB_USER_COLL_SCORES WHERE USERID = :userid AND NVL(SEEN, 0) = 0 AND NVL(INTERACTED, 0) = 0", nativeQuery = true)
+    int deleteCandidates(@Param("userid") String userid);
+
+    // 접근 가능한 다른 유저의 컬렉션 중 이력이 없는 상위 :limit 개를 추천 후보로 추가
+    // 순위: 유저 태그 프로필과 겹치는 정도(겹치는 태그의 tag_count 합) → 인기 점수
+    // SCORE = 기본값 10 + 겹치는 정도 (프로필이 없는 유저는 인기순, 모두 10)
+    @Modifying
+    @Query(value = """
+            INSERT INTO TB_USER_COLL_SCORES (USERID, COLLECTIONID, SCORE, SEEN, INTERACTED, RECOMMENDED_AT)
+            SELECT :userid, c.COLLECTIONID, 10 + NVL(a.AFFINITY, 0), 0, 0, SYSDATE
+              FROM TB_COLLECTION c
+              JOIN TB_USER u ON u.USERID = c.AUTHORID
+              LEFT JOIN (SELECT ct.COLLECTIONID, SUM(p.TAG_COUNT) AS AFFINITY
+                           FROM TB_USER_TAG_PROFILE p
+                           JOIN TB_COLLECTION_TAG ct ON ct.TAGID = p.TAGID
+                          WHERE p.USERID = :userid
+                          GROUP BY ct.COLLECTIONID) a ON a.COLLECTIONID = c.COLLECTIONID
+             WHERE (u.ROLE IS NULL OR u.ROLE NOT IN ('BAD', 'EXIT'))
+               AND c.AUTHORID <> :userid
+            """
+            + LibCollectionRepository.ACCESSIBLE_BY_USER
+            + " AND NOT EXISTS (SELECT 1 FROM TB_USER_COLL_SCORES s WHERE s.USERID = :userid AND s.COLLECTIONID = c.COLLECTIONID)"
+            + " ORDER BY NVL(a.AFFINITY, 0) DESC, c.POPULARITY_SCORE DESC, c.COLLECTIONID DESC"
+            + LibCollectionRepository.FETCH_LIMIT,
+            nativeQuery = true)
+    int insertCandidates(@Param("userid") String userid, @Param("limit") int limit);
 }
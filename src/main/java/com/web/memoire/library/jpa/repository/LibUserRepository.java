@@ -5,21 +5,19 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface LibUserRepository extends JpaRepository<UserEntity, String> {
     Optional<UserEntity> findByUserId(String userId);
 
-    // UserEntity에서 nickname만 가져오는 메소드
-    @Query("SELECT u.nickname FROM UserEntity u WHERE u.userId = :userId")
-    String findNicknameByUserId(@Param("userId") String userId);
+    // 차단(BAD)/탈퇴(EXIT)가 아닌 유저 id 목록
+    @Query("SELECT u.userId FROM UserEntity u WHERE u.role IS NULL OR u.role NOT IN ('BAD', 'EXIT')")
+    List<String> findActiveUserIds();
 
-    @Query("SELECT u.profileImagePath FROM UserEntity u WHERE u.userId = :userId")
-    String findProfileImagePathByUserId(@Param("userId") String userId);
-
-
-    List<UserEntity> findByNicknameContaining(String query);
+    // 여러 작성자 정보를 IN 리스트로 한 번에 조회
+    List<UserEntity> findByUserIdIn(Collection<String> userIds);
 
 
 
@@ -0,0 +1,55 @@
+package com.web.memoire.library.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 인기 점수순 피드의 커서 (마지막으로 내려준 컬렉션의 인기 점수, 컬렉션id, 첫 페이지 시점의 최대 컬렉션id).
+ * 클라이언트에는 encode()한 불투명 문자열로만 전달한다.
+ *
+ * 첫 페이지 이후 새로 만들어진 컬렉션은 maxCollectionid로 제외되지만,
+ * 인기 점수는 스크롤 중에도 바뀌므로 순서는 최선 노력(best effort)이다.
+ * 커서 위치를 넘어 점수가 바뀐 컬렉션은 두 번 보이거나 빠질 수 있어 클라이언트는 컬렉션id로 중복을 거른다.
+ */
+@Data
+@AllArgsConstructor
+public class FeedCursor {
+
+    private long score;
+    private int collectionid;
+    private int maxCollectionid;
+
+    // 첫 페이지용 커서 (모든 컬렉션보다 앞, 현재까지 만들어진 컬렉션까지만)
+    public static FeedCursor first(int maxCollectionid) {
+        return new FeedCursor(Long.MAX_VALUE, Integer.MAX_VALUE, maxCollectionid);
+    }
+
+    // 같은 스크롤의 다음 페이지 커서 (첫 페이지 시점 고정)
+    public FeedCursor next(long score, int collectionid) {
+        return new FeedCursor(score, collectionid, maxCollectionid);
+    }
+
+    public String encode() {
+        String raw = score + ":" + collectionid + ":" + maxCollectionid;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // cursor가 없으면 null(첫 페이지), 형식이 잘못되면 IllegalArgumentException
+    public static FeedCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException();
+            }
+            return new FeedCursor(Long.parseLong(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.web.memoire.library.model.service;
+
+import com.web.memoire.common.dto.CollView;
+import com.web.memoire.common.entity.CollectionEntity;
+import com.web.memoire.common.entity.CollectionTagEntity;
+import com.web.memoire.common.entity.MemoryEntity;
+import com.web.memoire.common.model.service.TagDictionary;
+import com.web.memoire.library.jpa.repository.*;
+import com.web.memoire.user.jpa.entity.UserEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 컬렉션 id 목록과 조회자 id로 CollView 목록을 한 번에 만든다.
+ * 컬렉션 수와 상관없이 IN 리스트 / GROUP BY 쿼리 몇 개로 필요한 정보를 모두 가져온다.
+ * (컬렉션, 썸네일 메모리, 작성자, 좋아요 여부, 북마크 여부, 좋아요 수, 북마크 수, 태그)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CollViewAssembler {
+
+    // Oracle IN 리스트 최대 개수
+    private static final int IN_LIST_LIMIT = 1000;
+
+    private final LibCollectionRepository libCollectionRepository;
+    private final LibMemoryRepository libMemoryRepository;
+    private final LibUserRepository libUserRepository;
+    private final LibLikeRepository libLikeRepository;
+    private final LibBookmarkRepository libBookmarkRepository;
+    private final LibCollTagRepository libCollTagRepository;
+    private final ReadCountBuffer readCountBuffer;
+    private final TagDictionary tagDictionary;
+
+    // collectionIds 순서를 유지한 CollView 목록 리턴 (존재하지 않는 컬렉션은 제외)
+    public List<CollView> assemble(List<Integer> collectionIds, String userId) {
+        if (collectionIds == null || collectionIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Integer> distinctIds = new ArrayList<>(new LinkedHashSet<>(collectionIds));
+
+        Map<Integer, CollectionEntity> collections = new HashMap<>();
+        for (List<Integer> chunk : partition(distinctIds)) {
+            libCollectionRepository.findAllById(chunk)
+                    .forEach(coll -> collections.put(coll.getCollectionid(), coll));
+        }
+        return build(distinctIds, collections, userId);
+    }
+
+    // 이미 조회한 컬렉션 엔티티 목록으로 CollView 목록 리턴 (컬렉션 재조회 없음, 순서 유지)
+    public List<CollView> assembleFrom(List<CollectionEntity> collectionEntities, String userId) {
+        if (collectionEntities == null || collectionEntities.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Integer, CollectionEntity> collections = new LinkedHashMap<>();
+        collectionEntities.forEach(coll -> collections.putIfAbsent(coll.getCollectionid(), coll));
+        return build(new ArrayList<>(collections.keySet()), collections, userId);
+    }
+
+    private List<CollView> build(List<Integer> distinctIds, Map<Integer, CollectionEntity> collections, String userId) {
+        Map<Integer, MemoryEntity> firstMemories = new HashMap<>();
+        Set<Integer> likedIds = new HashSet<>();
+        Set<Integer> bookmarkedIds = new HashSet<>();
+        Map<Integer, Integer> likeCounts = new HashMap<>();
+        Map<Integer, Integer> bookmarkCounts = new HashMap<>();
+        List<CollectionTagEntity> collTags = new ArrayList<>();
+
+        for (List<Integer> chunk : partition(distinctIds)) {
+            libMemoryRepository.findByCollectionidInAndMemoryOrder(chunk, 1)
+                    .forEach(memory -> firstMemories.put(memory.getCollectionid(), memory));
+
+            // 비로그인 유저는 좋아요/북마크 여부 조회 생략
+            if (userId != null) {
+                likedIds.addAll(libLikeRepository.findLikedCollectionIds(userId, chunk));
+                bookmarkedIds.addAll(libBookmarkRepository.findBookmarkedCollectionIds(userId, chunk));
+            }
+            putCounts(likeCounts, libLikeRepository.countGroupByCollectionid(chunk));
+            putCounts(bookmarkCounts, libBookmarkRepository.countGroupByCollectionid(chunk));
+
+            collTags.addAll(libCollTagRepository.findByCollectionidIn(chunk));
+        }
+
+        // 태그 이름은 사전에서 변환
+        Map<Integer, String> tagNameById = tagDictionary.getNames(collTags.stream().map(CollectionTagEntity::getTagid).toList());
+        Map<Integer, List<String>> tagNames = new HashMap<>();
+        for (CollectionTagEntity collTag : collTags) {
+            String tagName = tagNameById.get(collTag.getTagid());
+            if (tagName != null) {
+                tagNames.computeIfAbsent(collTag.getCollectionid(), k -> new ArrayList<>()).add(tagName);
+            }
+        }
+
+        // 작성자 정보 조회
+        Set<String> authorIds = new HashSet<>();
+        collections.values().forEach(coll -> authorIds.add(coll.getAuthorid()));
+        Map<String, UserEntity> authors = new HashMap<>();
+        for (List<String> chunk : partition(new ArrayList<>(authorIds))) {
+            libUserRepository.findByUserIdIn(chunk).forEach(user -> authors.put(user.getUserId(), user));
+        }
+
+        List<CollView> collViews = new ArrayList<>();
+        for (Integer collectionId : distinctIds) {
+            CollectionEntity collection = collections.get(collectionId);
+            if (collection == null) {
+                log.warn("CollView 생성 실패 - 존재하지 않는 컬렉션: {}", collectionId);
+                continue;
+            }
+            MemoryEntity memory = firstMemories.get(collectionId);
+            UserEntity author = authors.get(collection.getAuthorid());
+
+            collViews.add(CollView.builder()
+                    .collectionid(collection.getCollectionid())
+                    .authorid(collection.getAuthorid())
+                    .authorname(author != null ? author.getName() : null)
+                    .collectionTitle(collection.getCollectionTitle())
+                    .readCount(collection.getReadCount() + (int) readCountBuffer.getPending(collectionId))
+                    .visibility(collection.getVisibility())
+                    .createdDate(collection.getCreatedDate())
+                    .color(collection.getColor())
+                    .thumbnailPath(memory != null ? memory.getFilepath() : null)
+                    .textContent(memory != null ? memory.getContent() : null)
+                    .userlike(likedIds.contains(collectionId))
+                    .userbookmark(bookmarkedIds.contains(collectionId))
+                    .authorProfileImage(author != null ? author.getProfileImagePath() : null)
+                    .thumbType(memory != null ? memory.getMemoryType() : null)
+                    .likeCount(likeCounts.getOrDefault(collectionId, 0))
+                    .bookmarkCount(bookmarkCounts.getOrDefault(collectionId, 0))
+                    .collTags(tagNames.getOrDefault(collectionId, new ArrayList<>()))
+                    .build());
+        }
+        return collViews;
+    }
+
+    private static void putCounts(Map<Integer, Integer> counts, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            counts.put(((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+        }
+    }
+
+    private static <T> List<List<T>> partition(List<T> list) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += IN_LIST_LIMIT) {
+            chunks.add(list.subList(i, Math.min(i + IN_LIST_LIMIT, list.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,143 @@
+package com.web.memoire.library.model.service;
+
+import com.web.memoire.common.entity.CollectionEntity;
+import com.web.memoire.common.model.service.SocialGraph;
+import com.web.memoire.library.jpa.repository.LibUserRepository;
+import com.web.memoire.user.jpa.entity.UserEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 컬렉션 접근 권한 판단.
+ * forViewer()로 조회자의 관계(팔로우, 양방향 차단)를 한 번에 읽어 스냅샷을 만들고,
+ * 작성자 차단/탈퇴 여부는 IN 쿼리로 모아서 조회한 뒤 컬렉션 목록 전체를 메모리에서 판단한다.
+ *
+ * 공개범위 1: 양쪽 모두 차단 관계가 없으면 접근 가능
+ * 공개범위 2: 조회자가 작성자를 팔로우(status '1') 중일 때만 접근 가능
+ * 공개범위 3: 작성자 본인만 접근 가능
+ */
+@Component
+@RequiredArgsConstructor
+public class CollectionAccessEvaluator {
+
+    // Oracle IN 리스트 최대 개수
+    private static final int IN_LIST_LIMIT = 1000;
+
+    private final LibUserRepository libUserRepository;
+    private final SocialGraph socialGraph;
+
+    // 조회자 기준 스냅샷 생성 (조회자 정보 쿼리 1개, 관계는 SocialGraph 메모리에서)
+    public ViewerAccess forViewer(String viewerId) {
+        Optional<UserEntity> viewer = libUserRepository.findByUserId(viewerId);
+        boolean viewerBanned = viewer.map(user -> isBanned(user.getRole())).orElse(true);
+
+        if (viewerBanned) {
+            return new ViewerAccess(viewerId, true, Set.of(), Set.of());
+        }
+        SocialGraph.AccessEdges edges = socialGraph.accessEdges(viewerId);
+        return new ViewerAccess(viewerId, false, edges.followingIds(), edges.blockedIds());
+    }
+
+    // 작성자가 차단/탈퇴 유저가 아닌 컬렉션만 순서를 유지해 리턴 (비로그인 조회용)
+    public List<CollectionEntity> activeAuthorsOnly(List<CollectionEntity> collections) {
+        Set<String> bannedAuthors = new HashSet<>();
+        Set<String> knownAuthors = new HashSet<>();
+        List<String> authorIds = collections.stream().map(CollectionEntity::getAuthorid).distinct().toList();
+        for (int i = 0; i < authorIds.size(); i += IN_LIST_LIMIT) {
+            List<String> chunk = authorIds.subList(i, Math.min(i + IN_LIST_LIMIT, authorIds.size()));
+            for (UserEntity author : libUserRepository.findByUserIdIn(chunk)) {
+                knownAuthors.add(author.getUserId());
+                if (isBanned(author.getRole())) {
+                    bannedAuthors.add(author.getUserId());
+                }
+            }
+        }
+        return collections.stream()
+                .filter(coll -> knownAuthors.contains(coll.getAuthorid()) && !bannedAuthors.contains(coll.getAuthorid()))
+                .toList();
+    }
+
+    private static boolean isBanned(String role) {
+        return "BAD".equals(role) || "EXIT".equals(role);
+    }
+
+    // 한 요청 동안 재사용하는 조회자별 접근 권한 스냅샷
+    public class ViewerAccess {
+
+        private final String viewerId;
+        private final boolean viewerBanned;
+        private final Set<String> followingIds;
+        private final Set<String> blockedIds;
+        // 작성자id -> 접근 가능한(차단/탈퇴가 아닌) 작성자인지
+        private final Map<String, Boolean> activeAuthors = new HashMap<>();
+
+        private ViewerAccess(String viewerId, boolean viewerBanned, Set<String> followingIds, Set<String> blockedIds) {
+            this.viewerId = viewerId;
+            this.viewerBanned = viewerBanned;
+            this.followingIds = followingIds;
+            this.blockedIds = blockedIds;
+        }
+
+        public boolean isViewerBanned() {
+            return viewerBanned;
+        }
+
+        // 둘 중 하나라도 차단한 관계인지
+        public boolean isBlocked(String otherId) {
+            return blockedIds.contains(otherId);
+        }
+
+        // 접근 가능한 컬렉션만 순서를 유지해 리턴 (작성자 정보는 IN 쿼리로 한 번에 조회)
+        public List<CollectionEntity> filter(List<CollectionEntity> collections) {
+            if (viewerBanned || collections.isEmpty()) {
+                return new ArrayList<>();
+            }
+            loadAuthors(collections.stream().map(CollectionEntity::getAuthorid).toList());
+            List<CollectionEntity> accessible = new ArrayList<>();
+            for (CollectionEntity collection : collections) {
+                if (canAccess(collection)) {
+                    accessible.add(collection);
+                }
+            }
+            return accessible;
+        }
+
+        public boolean canAccess(CollectionEntity collection) {
+            if (collection == null || viewerBanned) {
+                return false;
+            }
+            String authorId = collection.getAuthorid();
+            loadAuthors(List.of(authorId));
+            //차단/탈퇴 유저의 컬렉션은 접근 불가
+            if (!activeAuthors.getOrDefault(authorId, false)) {
+                return false;
+            }
+            // 작성자 본인은 무조건 접근 가능
+            if (viewerId.equals(authorId)) {
+                return true;
+            }
+            return switch (collection.getVisibility()) {
+                case 1 -> !blockedIds.contains(authorId);
+                case 2 -> followingIds.contains(authorId);
+                default -> false;
+            };
+        }
+
+        private void loadAuthors(List<String> authorIds) {
+            List<String> missing = authorIds.stream()
+                    .filter(id -> !activeAuthors.containsKey(id))
+                    .distinct()
+                    .toList();
+            for (int i = 0; i < missing.size(); i += IN_LIST_LIMIT) {
+                List<String> chunk = missing.subList(i, Math.min(i + IN_LIST_LIMIT, missing.size()));
+                // 존재하지 않는 작성자는 접근 불가로 처리
+                chunk.forEach(id -> activeAuthors.put(id, false));
+                for (UserEntity author : libUserRepository.findByUserIdIn(chunk)) {
+                    activeAuthors.put(author.getUserId(), !isBanned(author.getRole()));
+                }
+            }
+        }
+    }
+}
@@ -2,14 +2,26 @@ package com.web.memoire.library.model.service;
 
 import com.web.memoire.common.dto.*;
 import com.web.memoire.common.entity.*;
+import com.web.memoire.common.model.service.CollectionSimilarityIndex;
+import com.web.memoire.common.model.service.EmbeddingService;
+import com.web.memoire.common.model.service.FollowingFeedInbox;
+import com.web.memoire.common.model.service.SocialGraph;
+import com.web.memoire.common.model.service.TagDictionary;
+import com.web.memoire.common.model.service.UserSearchIndex;
+import com.web.memoire.common.model.service.UserSummaryLoader;
+import com.web.memoire.common.model.service.UserTagProfileService;
 import com.web.memoire.library.jpa.repository.*;
+import com.web.memoire.library.model.dto.CursorPage;
+import com.web.memoire.library.model.dto.FeedCursor;
 import com.web.memoire.user.jpa.entity.UserEntity;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
@@ -36,8 +48,41 @@ public class LibraryService {
     private final LibRelationshipRepository libRelationshipRepository;
     private final LibCollTagRepository libCollTagRepository;
     private final LibUserCollScoreRepository libUserCollScoreRepository;
+    private final CollViewAssembler collViewAssembler;
+    private final CollectionAccessEvaluator collectionAccessEvaluator;
+    private final ReadCountBuffer readCountBuffer;
+    private final TagLeaderboard tagLeaderboard;
+    private final TagDictionary tagDictionary;
+    private final UserTagProfileService userTagProfileService;
+    private final RecommendationCandidateGenerator recommendationCandidateGenerator;
+    private final CollectionSimilarityIndex collectionSimilarityIndex;
+    private final EmbeddingService embeddingService;
+    private final SearchResultCache searchResultCache;
+    private final UserSearchIndex userSearchIndex;
+    private final FollowingFeedInbox followingFeedInbox;
+    private final SocialGraph socialGraph;
+    private final UserSummaryLoader userSummaryLoader;
 
     private final WebClient webClient;
+
+    // 컬렉션 검색 방식: local(앱 내 HNSW 인덱스, 실패 시 FastAPI 대체) / remote(FastAPI만 사용)
+    @Value("${memoire.search.mode:local}")
+    private String searchMode;
+    @Value("${memoire.search.fastapi-fallback:true}")
+    private boolean searchFastApiFallback;
+    @Value("${memoire.search.fastapi-url:http://localhost:8000/library/search}")
+    private String searchFastApiUrl;
+    @Value("${memoire.search.max-results:100}")
+    private int searchMaxResults;
+    // 태그 검색 결과 최대 개수 (인기 점수 상위)
+    @Value("${memoire.search.tag-max-results:1000}")
+    private int tagSearchMaxResults;
+    // 유저 검색 결과 최대 개수
+    @Value("${memoire.user-search.max-results:200}")
+    private int userSearchMaxResults;
+    // 컬렉션 상세의 메모리 미리보기 글자 수 (DBMS_LOB.SUBSTR 결과가 VARCHAR2 4000바이트를 넘지 않도록 1000 이하)
+    @Value("${memoire.memory.preview-length:200}")
+    private int memoryPreviewLength;
     @Autowired
     private LibReportRepository libReportRepository;
     @Autowired
@@ -51,101 +96,54 @@ public class LibraryService {
                 .toList();
     }
 
-    // 상위 5개 태그 가져오기
+    // 인기 태그 top 5 (메모리 리더보드에서 조회)
     public List<Tag> getTopTags() {
-        List<TagEntity> tagEntities = libTagRepository.findTop5BySearchCountPlusLikeCount();
-        return tagEntities.stream()
-                .map(TagEntity::toDto)
-                .collect(Collectors.toList());
+        return tagLeaderboard.getTop(5);
     }
 
-    // 비로그인 유저에게 public Collection Return
-    public Page<CollView> getAll4Anon(Pageable pageable) {
-        // 공개된 컬렉션 리스트 가져오기
-        List<CollectionEntity> publicCollections = libCollectionRepository.findByVisibility(1);
-
-        // totalScore에 따라 정렬
-        List<CollectionEntity> sortedColls = sortCollsByTotalScore(publicCollections);
-
-        // CollView 리스트 생성
-        List<CollView> collViews = new ArrayList<>();
+    // 인기 태그 top N (최대 TagLeaderboard.CAPACITY)
+    public List<Tag> getTopTags(int limit) {
+        return tagLeaderboard.getTop(limit);
+    }
 
-        // 정렬된 CollectionEntity 리스트를 순차적으로 CollView로 변환
-        for (CollectionEntity coll : sortedColls) {
-            UserEntity author = libUserRepository.findByUserId(coll.getAuthorid()).isPresent() ?libUserRepository.findByUserId(coll.getAuthorid()).get():null;
-            if (author == null){
-                continue;
-            }
-            if (author.getRole().equals("BAD") || author.getRole().equals("EXIT")) {
-                continue;
-            }
-            collViews.add(makeCollectionView(coll.getCollectionid(), null));
-        }
+    // 비로그인 유저에게 public Collection Return (인기 점수순 정렬/페이징은 DB에서 처리)
+    public Page<CollView> getAll4Anon(Pageable pageable) {
+        Page<CollectionEntity> page = libCollectionRepository.findPublicRankedPage(unsorted(pageable));
+        return toCollViewPage(page, null);
+    }
 
-        //페이징 처리
-        int start = (int) pageable.getOffset(); // page * size
-        int end = Math.min(start + pageable.getPageSize(), collViews.size());
-        if (start > end) {
-            return new PageImpl<>(List.of(), pageable, collViews.size());
+    // ✅ 로그인 유저가 접근 가능한 public/follower 컬렉션 (접근 권한 필터/정렬/페이징은 DB에서 처리)
+    public Page<CollView> getAllColls4LoginUser(String userId, Pageable pageable) {
+        //차단/탈퇴 유저는 어떤 컬렉션에도 접근 불가
+        if (isBannedUser(userId)) {
+            return Page.empty(pageable);
         }
-        List<CollView> pagedResult = collViews.subList(start, end);
-        return new PageImpl<>(pagedResult, pageable, collViews.size());
-
+        Page<CollectionEntity> page = libCollectionRepository.findAccessibleRankedPage(userId, unsorted(pageable));
+        return toCollViewPage(page, userId);
     }
 
-    // CollectionEntity 리스트를 totalScore 기준으로 정렬
-    private List<CollectionEntity> sortCollsByTotalScore(List<CollectionEntity> collections) {
-        // 정렬 작업
-        collections.sort((coll1, coll2) -> {
-            int totalScore1 = calculateTotalScore(coll1);
-            int totalScore2 = calculateTotalScore(coll2);
-            return Integer.compare(totalScore2, totalScore1); // 내림차순 정렬
-        });
-        return collections;
+    // 정렬은 쿼리의 인기 점수순으로 고정 → 요청의 Sort는 무시
+    private Pageable unsorted(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
     }
 
-    // CollectionEntity의 totalScore 계산
-    public int calculateTotalScore(CollectionEntity coll) {
-        int likeCount = libLikeRepository.countByCollectionid(coll.getCollectionid());
-        int bookmarkCount = libBookmarkRepository.countByCollectionid(coll.getCollectionid());
-        int readCount = coll.getReadCount();
-        return likeCount + bookmarkCount + readCount;
+    // 한 페이지 분량의 CollectionEntity를 CollView 페이지로 변환
+    private Page<CollView> toCollViewPage(Page<CollectionEntity> page, String userId) {
+        List<CollView> collViews = collViewAssembler.assembleFrom(page.getContent(), userId);
+        return new PageImpl<>(collViews, page.getPageable(), page.getTotalElements());
     }
 
-
-    // ✅ public(visibility=1) collection 모두 불러오기
-    public Page<CollView> getAllColls4LoginUser(String userId, Pageable pageable) {
-        List<CollView> collViews = new ArrayList<>();
-
-        //대상 컬렉션: visibility 가 public이거나 follower 대상인 경우
-        List<CollectionEntity> publicCollections = libCollectionRepository.findByVisibilityIn(Arrays.asList("1", "2"));
-        List<CollectionEntity> filteredColls = new ArrayList<>();
-
-        //filteredCollections 만듦
-        for (CollectionEntity coll : publicCollections) {
-            int collid = coll.getCollectionid();
-            if (canUserAccessCollection(collid, userId)) {
-                filteredColls.add(coll);
-            }
-        }
-        List<CollectionEntity> sortedColls = sortCollsByTotalScore(filteredColls);
-        for (CollectionEntity coll : sortedColls) {
-            if (canUserAccessCollection(coll.getId(), userId)) {
-                collViews.add(makeCollectionView(coll.getCollectionid(), userId));
-            }
-        }
-        //페이징 처리
-        int start = (int) pageable.getOffset(); // page * size
-        int end = Math.min(start + pageable.getPageSize(), collViews.size());
-        if (start > end) {
-            return new PageImpl<>(List.of(), pageable, collViews.size());
-        }
-        List<CollView> pagedResult = collViews.subList(start, end);
-        return new PageImpl<>(pagedResult, pageable, collViews.size());
+    private boolean isBannedUser(String userId) {
+        return libUserRepository.findByUserId(userId)
+                .map(user -> "BAD".equals(user.getRole()) || "EXIT".equals(user.getRole()))
+                .orElse(true);
     }
 
     @Transactional
     public void addLike(String userid, int collectionId) {
+        // 이미 좋아요한 경우 save는 merge로 처리되므로 인기 점수는 새로 추가될 때만 +1
+        boolean alreadyLiked = libLikeRepository.existsById(new LikeId(collectionId, userid));
+
         //TB_Like에 적용
         LikeEntity like = LikeEntity.builder()
                 .userid(userid)
@@ -154,20 +152,18 @@ public class LibraryService {
                 .build(); // likedDate는 자동으로 저장됨
 
         libLikeRepository.save(like);
+        if (!alreadyLiked) {
+            libCollectionRepository.addPopularityScore(collectionId, 1);
+            //TB_TAG에 적용 (컬렉션에 달린 태그들의 like_count +1 을 UPDATE 한 번으로 처리)
+            libTagRepository.increaseLikeCountByCollectionid(collectionId);
+            tagLeaderboard.onTagsLiked(libCollTagRepository.findByCollectionid(collectionId).stream()
+                    .map(CollectionTagEntity::getTagid)
+                    .toList());
+        }
 
         log.info("좋아요 아이디: "+ userid);
         log.info("좋아요 컬렉션: "+ collectionId);
 
-        //TB_TAG에 적용 (좋아요된 태그들에 적용)
-        List<CollectionTagEntity> colltags = libCollTagRepository.findByCollectionid(collectionId);
-        for (CollectionTagEntity colltag : colltags) {
-            TagEntity tag = libTagRepository.findById(colltag.getTagid()).get();
-            // 태그의 like_count에 +1 적용해 저장
-            int currentLikeCount = tag.getLikeCount();
-            tag.setLikeCount(currentLikeCount + 1);
-            libTagRepository.save(tag);
-        }
-
         // TB_USER_COLL_SCORES에 적용 (userid, collectionId에 해당하는 row 만들거나 수정 - interacted=1)
         // 존재하지 않으면 새로 만들어 저장
         // TODO: 컬렉션이나 유저 생성시 ... 이거 처리 로직 만들어야 함.
@@ -197,16 +193,25 @@ public class LibraryService {
     }
     @Transactional
     public void removeLike(String userid, int collectionId) {
-        libLikeRepository.deleteByUseridAndCollectionid(userid, collectionId);
+        // 실제로 삭제된 경우에만 인기 점수 -1
+        if (libLikeRepository.deleteByUseridAndCollectionid(userid, collectionId) > 0) {
+            libCollectionRepository.addPopularityScore(collectionId, -1);
+        }
     }
 
     @Transactional
     public void addBM(String userid, int collectionId) {
+        // 이미 북마크한 경우 save는 merge로 처리되므로 인기 점수는 새로 추가될 때만 +1
+        boolean alreadyBookmarked = libBookmarkRepository.existsById(new BookmarkId(userid, collectionId));
+
         BookmarkEntity BM = BookmarkEntity.builder()
                 .userid(userid)
                 .collectionid(collectionId)
                 .build();
         libBookmarkRepository.save(BM);
+        if (!alreadyBookmarked) {
+            libCollectionRepository.addPopularityScore(collectionId, 1);
+        }
 
         // TB_USER_COLL_SCORES에 적용 (userid, collectionId에 해당하는 row 만들거나 수정 - interacted=1)
         // 존재하지 않으면 새로 만들어 저장
@@ -259,7 +264,10 @@ public class LibraryService {
 
     @Transactional
     public void removeBM(String userid, int collectionId) {
-        libBookmarkRepository.deleteByUseridAndCollectionid(userid, collectionId );
+        // 실제로 삭제된 경우에만 인기 점수 -1
+        if (libBookmarkRepository.deleteByUseridAndCollectionid(userid, collectionId) > 0) {
+            libCollectionRepository.addPopularityScore(collectionId, -1);
+        }
     }
 
     public int countLikesByCollectionId(int collectionId){
@@ -277,8 +285,8 @@ public class LibraryService {
         if (collection == null) {
             throw new IllegalArgumentException("컬렉션을 찾을 수 없습니다.");
         }
-        collection.setReadCount(collection.getReadCount()+1);
-        libCollectionRepository.save(collection);
+        // 조회수는 버퍼에 모았다가 주기적으로 반영 (행 잠금 없음)
+        readCountBuffer.increment(collectionId);
 
         //컬렉션 seen - 1로 세팅
         log.info(userId);
@@ -335,9 +343,60 @@ public class LibraryService {
 
 
     public Object getMemoriesByCollectionId(int collectionid) {
-        List <MemoryEntity> memories =  libMemoryRepository.findByCollectionid(collectionid);
-        Collections.sort(memories, Comparator.comparingInt(MemoryEntity::getMemoryOrder));
-        return memories;
+        return libMemoryRepository.findByCollectionidOrderByMemoryOrderAsc(collectionid);
+    }
+
+    // 컬렉션 상세 + 메모리 미리보기 첫 페이지를 한 번에 (조회수/추천 점수 처리는 getCollectionDetail과 같음)
+    @Transactional
+    public CollDetailWithMemories getCollectionDetailWithMemories(int collectionId, String userId, Pageable pageable) throws Exception {
+        CollView collection = getCollectionDetail(collectionId, userId);
+        return CollDetailWithMemories.builder()
+                .collection(collection)
+                .memories(getMemoryPreviews(collectionId, pageable))
+                .build();
+    }
+
+    public CollDetailWithMemories getCollectionDetailWithMemories4Anon(int collectionId, Pageable pageable) throws Exception {
+        CollView collection = getCollectionDetail4Anon(collectionId);
+        return CollDetailWithMemories.builder()
+                .collection(collection)
+                .memories(getMemoryPreviews(collectionId, pageable))
+                .build();
+    }
+
+    // 메모리 미리보기 다음 페이지 (userId가 null이면 비로그인 - 공개 컬렉션만)
+    public Page<MemoryPreview> getMemoryPreviews(int collectionId, String userId, Pageable pageable) throws Exception {
+        boolean accessible;
+        if (userId == null) {
+            CollectionEntity collection = libCollectionRepository.findByCollectionid(collectionId);
+            accessible = collection != null && collection.getVisibility() == 1;
+        } else {
+            accessible = canUserAccessCollection(collectionId, userId);
+        }
+        if (!accessible) {
+            throw new Exception("이 컬렉션에 접근할 권한이 없습니다.");
+        }
+        return getMemoryPreviews(collectionId, pageable);
+    }
+
+    // 메모리를 MEMORY_ORDER 순으로 한 페이지만, CONTENT는 앞부분만 읽음
+    private Page<MemoryPreview> getMemoryPreviews(int collectionId, Pageable pageable) {
+        Page<Object[]> page = libMemoryRepository.findMemoryPreviews(collectionId, memoryPreviewLength, unsorted(pageable));
+        return page.map(row -> {
+            Number contentLength = (Number) row[5];
+            return MemoryPreview.builder()
+                    .memoryid(((Number) row[0]).intValue())
+                    .memoryType((String) row[1])
+                    .collectionid(((Number) row[2]).intValue())
+                    .title((String) row[3])
+                    .contentPreview((String) row[4])
+                    .contentTruncated(contentLength != null && contentLength.longValue() > memoryPreviewLength)
+                    .filename((String) row[6])
+                    .filepath((String) row[7])
+                    .createdDate((Date) row[8])
+                    .memoryOrder(((Number) row[9]).intValue())
+                    .build();
+        });
     }
 
     public Object getMemoryDetail(int memoryid) {
@@ -388,88 +447,51 @@ public class LibraryService {
                 }
             }
         }
+
+        // 관계 그래프(커밋 후)와 팔로잉 피드 수신함 반영 (팔로우 시작이면 채워 넣고, 아니면 상대 컬렉션 제거)
+        socialGraph.updateAfterCommit(userid, targetid, nextRel);
+        followingFeedInbox.onRelationshipChanged(userid, targetid, nextRel);
+        if ("2".equals(nextRel)) {
+            socialGraph.updateAfterCommit(targetid, userid, SocialGraph.NONE);
+            followingFeedInbox.onRelationshipChanged(targetid, userid, "3");
+        }
     }
 
 
+    // 관계 상태 (관계 그래프에서 조회, 없으면 "3")
     public Object getRelationshipStatus(String userid, String targetid) {
-        RelationshipId id = new RelationshipId(userid, targetid);
-        Optional<RelationshipEntity> optional = libRelationshipRepository.findById(id);
-
-        // Optional이 비어있지 않은 경우
-        if (optional.isPresent()) {
-            return optional.get().getStatus();
-        }
-        else{
-            return "3"; // no relationship
-        }
-
+        return socialGraph.statusOf(userid, targetid);
     }
 
-    // user가 팔로잉중인 유저들의 컬렉션들을 최신순으로 불러옴
+    // user가 팔로잉중인 유저들의 컬렉션들을 최신순으로 불러옴 (팔로잉 피드 수신함에서 한 페이지만 조회)
     public Page<CollView> getFollowingColls4LoginUser(String userid, Pageable pageable) {
-        // 1. 팔로잉중인 유저 목록 불러오기
-        List<RelationshipEntity> followingRels = libRelationshipRepository.findAllUserFollowing(userid);
-
-        // 2. 유저별로 컬렉션 불러와서 합치기
-        List<CollectionEntity> allCollections = new ArrayList<>();
-        for (RelationshipEntity followingRel : followingRels) {
-            List<CollectionEntity> collections = libCollectionRepository.findByAuthoridOrderByCreatedDateDesc(followingRel.getTargetid());
-            allCollections.addAll(collections);
-        }
-        List<CollView> collViews = new ArrayList<>();
-        for (CollectionEntity coll : allCollections) {
-            if (canUserAccessCollection(coll.getCollectionid(), userid)) {
-                collViews.add(makeCollectionView(coll.getCollectionid(), userid));
-            }
-        }
-        //페이징 처리
-        int start = (int) pageable.getOffset(); // page * size
-        int end = Math.min(start + pageable.getPageSize(), collViews.size());
-        if (start > end) {
-            return new PageImpl<>(List.of(), pageable, collViews.size());
+        //차단/탈퇴 유저는 어떤 컬렉션에도 접근 불가
+        if (isBannedUser(userid)) {
+            return Page.empty(pageable);
         }
-        List<CollView> pagedResult = collViews.subList(start, end);
-        return new PageImpl<>(pagedResult, pageable, collViews.size());
+        Page<CollectionEntity> page = libCollectionRepository.findFollowingFeedPage(userid, unsorted(pageable));
+        return toCollViewPage(page, userid);
     }
 
 
 
-    public List<FollowRequest> getFollowRequests(String userid) {
-        log.info("LibraryService에서 팔로우 목록 조회 시작");
-        List<RelationshipEntity> relationships = libRelationshipRepository.findByTargetidAndStatus(userid, "0");
-        log.info("관계 상태: "+relationships);
-        List<FollowRequest> followRequests = new ArrayList<>();
-
-
-        for (RelationshipEntity relationship : relationships) {
-            try {
-                String requesterId = relationship.getUserid();
-                String nickname = libUserRepository.findNicknameByUserId(requesterId);
-                String profileImage = libUserRepository.findProfileImagePathByUserId(requesterId);
-
-                // Optional을 사용하거나 null 체크를 할 수 있습니다.
-                if (nickname == null) {
-                    log.warn("닉네임이 없습니다. userId: {}", requesterId);
-                    nickname = "알 수 없음";  // 기본값 설정
-                }
-                if (profileImage == null) {
-                    log.warn("프로필 이미지가 없습니다. userId: {}", requesterId);
-                    profileImage = "";  // 기본값 설정
-                }
-                log.info("요청자 닉네임:"+nickname+ ", 프로필 path: "+profileImage);
-
-                FollowRequest followRequest = FollowRequest.builder()
-                        .requesterid(requesterId)
-                        .requesternickname(nickname)
-                        .requesterProfileImage(profileImage)
-                        .build();
-                followRequests.add(followRequest);
-            } catch (Exception e) {
-                log.error("팔로우 요청 변환 중 에러 발생", e);
+    // 받은 팔로우 요청 페이지 (요청자 닉네임/프로필은 조인 한 번으로 함께 조회)
+    public Page<FollowRequest> getFollowRequests(String userid, Pageable pageable) {
+        Page<FollowRequest> page = libRelationshipRepository.findFollowRequests(userid, unsorted(pageable));
+        page.forEach(followRequest -> {
+            if (followRequest.getRequesternickname() == null) {
+                followRequest.setRequesternickname("알 수 없음");  // 기본값 설정
             }
-        }
-        log.info("찾은 팔로우 리퀘스트 리스트:"+followRequests);
-        return followRequests;
+            if (followRequest.getRequesterProfileImage() == null) {
+                followRequest.setRequesterProfileImage("");  // 기본값 설정
+            }
+        });
+        return page;
+    }
+
+    // 받은 팔로우 요청 수 (알림 뱃지용, 관계 그래프의 카운터)
+    public int countFollowRequests(String userid) {
+        return socialGraph.pendingRequestCount(userid);
     }
 
     public void setRelationship(String userid, String targetid, String nextRel) {
@@ -495,6 +517,9 @@ public class LibraryService {
                     libRelationshipRepository.save(newRelationship);  // 새 관계 추가
                 }
             }
+            // 관계 그래프와 팔로잉 피드 수신함 반영 (요청 승인이면 채워 넣기)
+            socialGraph.updateAfterCommit(userid, targetid, nextRel);
+            followingFeedInbox.onRelationshipChanged(userid, targetid, nextRel);
         }catch (Exception e){
             throw new RuntimeException("알 수 없는 오류가 발생했습니다. 잠시 후 다시 시도해주세요.");
         }
@@ -502,84 +527,14 @@ public class LibraryService {
 
     //조회자 id(userId)에 맞게 컬렉션 정보를 리턴함
     private CollView makeCollectionView(int collectionId, String userId) {
-        // 컬렉션 정보 조회
-        CollectionEntity collection = libCollectionRepository.findByCollectionid(collectionId);
-
-        // Memory 정보 조회 (memory_order = 1인 첫 번째 메모리)
-        MemoryEntity memory = libMemoryRepository.findByCollectionidAndMemoryOrder(collection.getId(), 1);
-        String thumbnailPath = memory != null ? memory.getFilepath() : null;
-        String thumbType = memory != null ? memory.getMemoryType() : null;
-        String textContent = memory != null ? memory.getContent() : null;
-
-        // 작성자 정보 조회
-        Optional<UserEntity> author = libUserRepository.findByUserId(collection.getAuthorid());
-        String authorName = author.isPresent() ? author.get().getName() : null;
-        String authorProfileImage = author.get().getProfileImagePath();
-        LikeEntity like;
-        BookmarkEntity bookmark;
-
-        // TODO: userid 가 없는 경우(비로그인시) 따로 처리
-        if (userId!=null) {
-            // 로그인 유저의 좋아요 및 북마크 여부 확인
-            like = libLikeRepository.findByUseridAndCollectionid(userId, collection.getId());
-            bookmark = libBookmarkRepository.findByUseridAndCollectionid(userId, collection.getId());
-        }
-        else{
-            like=null;
-            bookmark=null;
-        }
-        // 컬렉션의 좋아요 수, 북마크 수
-        int likeCount = countLikesByCollectionId(collection.getId());
-        int bookmarkCount = countBookmarksByCollectionId(collection.getId());
-
-        // 컬렉션에 달린 태그들
-        List<String> collTags = new ArrayList<>();
-        libCollTagRepository.findByCollectionid(collectionId).forEach(colltag -> {
-            collTags.add(libTagRepository.findByTagid(colltag.getTagid()).getTagName());
-        });
-        log.info("컬렉션에 달린 태그: "+collTags);
-
-        // CollView 객체 생성 및 반환
-        return CollView.builder()
-                .collectionid(collection.getId())
-                .authorid(collection.getAuthorid())
-                .authorname(authorName)
-                .collectionTitle(collection.getCollectionTitle())
-                .readCount(collection.getReadCount())
-                .visibility(collection.getVisibility())
-                .createdDate(collection.getCreatedDate())
-                .titleEmbedding(collection.getTitleEmbedding())
-                .color(collection.getColor())
-                .thumbnailPath(thumbnailPath)
-                .textContent(textContent)
-                .userlike(like != null)
-                .userbookmark(bookmark != null)
-                .authorProfileImage(authorProfileImage)
-                .thumbType(thumbType)
-                .likeCount(likeCount)
-                .bookmarkCount(bookmarkCount)
-                .collTags(collTags)
-                .build();
+        List<CollView> collViews = collViewAssembler.assemble(List.of(collectionId), userId);
+        return collViews.isEmpty() ? null : collViews.get(0);
     }
 
     public Object findVisibleOwnerCollections(String userid, String ownerid) throws AccessDeniedException {
-        List<CollView> collViews = new ArrayList<>();
         log.info("서비스 - 로그인 유저: "+userid+"방문 대상:"+ownerid);
-        Optional<RelationshipEntity> userToOtherRel = libRelationshipRepository.findByUseridAndTargetid(userid, ownerid);
-        Optional<RelationshipEntity> otherToUserRel = libRelationshipRepository.findByUseridAndTargetid(ownerid, userid);
-
-        String status1 = userToOtherRel.map(RelationshipEntity::getStatus).orElse(null);
-        String status2 = otherToUserRel.map(RelationshipEntity::getStatus).orElse(null);
-
-        if (status1 != null) {
-            log.info("관계1: " + status1);
-        }
-        if (status2 != null) {
-            log.info("관계2: " + status2);
-        }
-
         // 차단 상태면 접근 불가
-        if ("2".equals(status1) || "2".equals(status2)) {
+        if (socialGraph.isBlockedEitherWay(userid, ownerid)) {
             log.error("차단 관계가 있습니다.");
             throw new AccessDeniedException("You are blocked by this user.");
         }
@@ -587,229 +542,149 @@ public class LibraryService {
         // 유저의 모든 컬렉션 가져옴
         List<CollectionEntity> userCollections = libCollectionRepository.findByAuthoridAndVisibilityIn(ownerid, Arrays.asList("1", "2"));
 
-        for (CollectionEntity collection : userCollections) {
-            if (canUserAccessCollection(collection.getCollectionid(), userid)) {
-                collViews.add(makeCollectionView(collection.getId(), userid));
-            }
-        }
-        return collViews;
+        List<CollectionEntity> accessibleColls = collectionAccessEvaluator.forViewer(userid).filter(userCollections);
+        return collViewAssembler.assembleFrom(accessibleColls, userid);
     }
 
-    public Object searchUsers(String query, String loginUserid) {
-        List<UserEntity> users = libUserRepository.findByNicknameContaining(query);
-        List<UserCardView> userCardViews = new ArrayList<>();
-        for (UserEntity user : users) {
-            UserCardView userCardView = makeUserView(user.getUserId(), loginUserid);
-            if (canUserSeeUser(loginUserid, user.getUserId())) {
-                userCardViews.add(userCardView);
-            }
-        }
-        return userCardViews;
-    }
+    // 닉네임 검색 (검색 인덱스 순위순 상위 userSearchMaxResults명 중 요청한 페이지)
+    public Page<UserCardView> searchUsers(String query, String loginUserid, Pageable pageable) {
+        List<String> rankedIds = userSearchIndex.search(query, userSearchMaxResults);
 
-    private boolean canUserSeeUser(String userId, String targetId){
         //둘 중 하나가 차단한 경우 볼 수 없음.
-        Optional<RelationshipEntity> relationship1 = libRelationshipRepository.findByUseridAndTargetid(userId, targetId);
-        Optional<RelationshipEntity> relationship2 = libRelationshipRepository.findByUseridAndTargetid(targetId, userId);
+        CollectionAccessEvaluator.ViewerAccess access = collectionAccessEvaluator.forViewer(loginUserid);
+        List<String> visibleIds = rankedIds.stream()
+                .filter(userId -> !access.isBlocked(userId))
+                .toList();
 
-        // 차단 상태라면 접근 불가
-        if ((relationship1.isPresent() && "2".equals(relationship1.get().getStatus())) ||
-                (relationship2.isPresent() && "2".equals(relationship2.get().getStatus()))) {
-            return false;
-        }
-        return true;
+        // 요청한 페이지의 유저만 카드로 변환
+        int from = (int) Math.min(pageable.getOffset(), visibleIds.size());
+        int to = Math.min(from + pageable.getPageSize(), visibleIds.size());
+        List<UserCardView> userCardViews = makeUserViews(visibleIds.subList(from, to), loginUserid);
+        return new PageImpl<>(userCardViews, unsorted(pageable), visibleIds.size());
     }
 
-    private UserCardView makeUserView(String targetId, String loginUserid) {
-        UserEntity user = libUserRepository.findByUserId(targetId)
-                .orElseThrow(() -> new NoSuchElementException("User not found"));
-
-        String userId = user.getUserId();
-        String loginId;
-        if (user.getLoginId() == null) {
-            loginId = "소셜로그인";
-        } else {
-            loginId = user.getLoginId();
+    // userIds 순서를 유지한 유저 카드 목록 (존재하지 않는 유저는 제외)
+    // 유저 정보, 상태 메시지, top 태그는 IN 쿼리로 한 번에, 관계는 관계 그래프에서 조회
+    private List<UserCardView> makeUserViews(List<String> userIds, String loginUserid) {
+        if (userIds.isEmpty()) {
+            return new ArrayList<>();
         }
+        List<UserSummary> users = userSummaryLoader.loadInOrder(userIds);
+        Map<String, String> statusMessages = userSummaryLoader.loadStatusMessages(userIds);
+        Map<String, List<String>> topTags = userTagProfileService.getTopTags(userIds);
 
-        String nickname = user.getNickname();
-        String profileImagePath= user.getProfileImagePath();
-        String statusMessage=user.getStatusMessage();
-
-        // 관계가 없으면 "3"을 리턴하도록 처리
-        String relStatusWLoginUser = libRelationshipRepository.findByUseridAndTargetid(loginUserid, targetId)
-                .map(RelationshipEntity::getStatus)  // 존재할 경우 상태 가져오기
-                .orElse("3");
-
-        List <CollectionEntity> userColls= libCollectionRepository.findByAuthoridAndVisibility(targetId,1);
-        List <CollectionTagEntity> userCollTags = new ArrayList<>();
-
-        log.info("user colls: " + userColls);
-        for (CollectionEntity coll : userColls) {
-            userCollTags.addAll(libCollTagRepository.findByCollectionid(coll.getCollectionid()));
-            // coll에들어있는 모든 tagid들을 set으로 저장
-        }
-        log.info("user tags: " + userCollTags);
-
-        Map<String, Long> tagFrequencyMap = new HashMap<>();
-        for (CollectionTagEntity colltag : userCollTags) {
-            // 각 태그에 대해 TagEntity를 가져옵니다.
-            log.info("태그: " + Integer.toString(colltag.getTagid()));
-            TagEntity tagEntity = libTagRepository.findByTagid(colltag.getTagid());
-            log.info("태그 엔티티: " + tagEntity);
-            if (tagEntity != null) {
-                String tagName = tagEntity.getTagName();
-                log.info("태그이름: " + tagName);
-                // 기존에 있는 태그라면 빈도수를 1 증가, 없다면 새로 추가
-                tagFrequencyMap.put(tagName, tagFrequencyMap.getOrDefault(tagName, 0L) + 1);
-            }
+        List<UserCardView> userCardViews = new ArrayList<>();
+        for (UserSummary user : users) {
+            String userId = user.getUserId();
+            userCardViews.add(UserCardView.builder()
+                    .userId(userId)
+                    .loginId(user.getLoginId() == null ? "소셜로그인" : user.getLoginId())
+                    .nickname(user.getNickname())
+                    .profileImagePath(user.getProfileImagePath())
+                    .statusMessage(statusMessages.get(userId))
+                    // 관계가 없으면 "3"
+                    .relStatusWLoginUser(socialGraph.statusOf(loginUserid, userId))
+                    .userFreqTags(topTags.getOrDefault(userId, new ArrayList<>()))
+                    .build());
         }
-        // 빈도수 높은 3개의 태그를 추출 (내림차순 정렬 후 최대 3개 선택)
-        List<String> mostFrequentTags = tagFrequencyMap.entrySet().stream()
-                .sorted((entry1, entry2) -> entry2.getValue().compareTo(entry1.getValue()))  // 빈도수 내림차순 정렬
-                .limit(3)  // 상위 3개 태그만 추출
-                .map(Map.Entry::getKey)  // 태그 이름만 추출
-                .collect(Collectors.toList());  // 리스트로 반환
-
-        return UserCardView.builder()
-                .userId(userId)
-                .loginId(loginId)
-                .nickname(nickname)
-                .profileImagePath(profileImagePath)
-                .statusMessage(statusMessage)
-                .relStatusWLoginUser(relStatusWLoginUser)
-                .userFreqTags(mostFrequentTags)
-                .build();
+        return userCardViews;
     }
 
     public Object getUserTopTags(String userid) {
-        List <CollectionEntity> userColls= libCollectionRepository.findByAuthoridAndVisibility(userid,1);
-        List <CollectionTagEntity> userCollTags = new ArrayList<>();
-
-        log.info("user colls: " + userColls);
-        for (CollectionEntity coll : userColls) {
-            userCollTags.addAll(libCollTagRepository.findByCollectionid(coll.getCollectionid()));
-            // coll에들어있는 모든 tagid들을 set으로 저장
-        }
-        log.info("user tags: " + userCollTags);
-
-        Map<String, Long> tagFrequencyMap = new HashMap<>();
-        for (CollectionTagEntity colltag : userCollTags) {
-            // 각 태그에 대해 TagEntity를 가져옵니다.
-            log.info("태그: " + Integer.toString(colltag.getTagid()));
-            TagEntity tagEntity = libTagRepository.findByTagid(colltag.getTagid());
-            log.info("태그 엔티티: " + tagEntity);
-            if (tagEntity != null) {
-                String tagName = tagEntity.getTagName();
-                log.info("태그이름: " + tagName);
-                // 기존에 있는 태그라면 빈도수를 1 증가, 없다면 새로 추가
-                tagFrequencyMap.put(tagName, tagFrequencyMap.getOrDefault(tagName, 0L) + 1);
-            }
-        }
-        // 빈도수 높은 3개의 태그를 추출 (내림차순 정렬 후 최대 3개 선택)
-        List<String> mostFrequentTags = tagFrequencyMap.entrySet().stream()
-                .sorted((entry1, entry2) -> entry2.getValue().compareTo(entry1.getValue()))  // 빈도수 내림차순 정렬
-                .limit(3)  // 상위 3개 태그만 추출
-                .map(Map.Entry::getKey)  // 태그 이름만 추출
-                .collect(Collectors.toList());  // 리스트로 반환
-        return mostFrequentTags;
-
+        return userTagProfileService.getTopTags(userid);
     }
 
-    // List<String>으로 바꿔야 함
+    // 검색어와 비슷한 컬렉션 중 유저가 접근 가능한 것 (유사도순)
     public List<CollView> searchColl(String query, String loginUserid) {
-        String fastApiUrl = "http://localhost:8000/library/search";
-
-        // TODO: 비공개/ 유저에 따른 처리 추가
-
-        //1. 쿼리에 대한 응답 리스트 fastAPI에 받아오기
-        Mono<List<Integer>> responseMono = webClient.post()
-                .uri(fastApiUrl)
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(Map.of("query", query))
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<Integer>>() {});
-        List<Integer> orderedIds = responseMono.block();  // 예: [5, 3, 9]
-        if (orderedIds == null || orderedIds.isEmpty()) {
-            return Collections.emptyList();
-        }
-
-        // 2. 해당 ID로 모든 컬렉션 조회
-        List<CollectionEntity> collections = libCollectionRepository.findAllById(orderedIds);
+        //1. 쿼리와 비슷한 컬렉션 id 목록 (유사도순, 조회자와 무관하므로 캐시)
+        List<Integer> orderedIds = searchResultCache.get(SearchResultCache.SearchType.SEMANTIC, query,
+                () -> findCollectionIdsByQuery(query));
 
+        // 2. 유저가 접근 가능한 것들만 순서대로 남겨 CollView로 한 번에 변환
+        return collViewAssembler.assemble(accessibleInOrder(orderedIds, loginUserid), loginUserid);
+    }
 
-        // 3. Map<Integer, CollectionEntity> 으로 수동 변환
-        Map<Integer, CollView> collViewMap = new HashMap<>();
-        for (CollectionEntity coll : collections) {
-            //유저가 접근 가능한 것들만 결과에 붙임
-            if (canUserAccessCollection(coll.getCollectionid(), loginUserid)){
-                collViewMap.put(coll.getId(), makeCollectionView(coll.getId(), loginUserid));
+    public List<String> fetchCollectionIdsByQuery(String query) {
+        List<Integer> orderedIds = findCollectionIdsByQuery(query);
+        return orderedIds == null ? null : orderedIds.stream().map(String::valueOf).toList();
+    }
+
+    // 검색어와 비슷한 컬렉션 id (유사도순)
+    // local 모드면 검색어 임베딩으로 HNSW 인덱스에서 찾고, 인덱스가 비어 있거나 실패하면 FastAPI로 대체
+    private List<Integer> findCollectionIdsByQuery(String query) {
+        if (!"remote".equalsIgnoreCase(searchMode)) {
+            if (collectionSimilarityIndex.isSearchReady()) {
+                try {
+                    float[] queryEmbedding = embeddingService.embed(query);
+                    return collectionSimilarityIndex.search(queryEmbedding, searchMaxResults);
+                } catch (Exception e) {
+                    log.warn("로컬 컬렉션 검색 실패 - query: {}, {}", query, e.getMessage());
+                }
             }
-        }
-
-        // 4. 순서를 유지하여 List<CollectionEntity> 구성
-        List<CollView> result = new ArrayList<>();
-        for (Integer id : orderedIds) {
-            if (collViewMap.containsKey(id)) {
-                result.add(collViewMap.get(id));
-                log.info(collViewMap.get(id).getCollectionTitle() + " 북마크 됨? "+ collViewMap.get(id).isUserbookmark());
+            if (!searchFastApiFallback) {
+                return Collections.emptyList();
             }
         }
-        return result;
+        return fetchCollectionIdsFromFastApi(query);
     }
 
-    public List<String> fetchCollectionIdsByQuery(String query) {
-        String fastApiUrl = "http://localhost:8000/library/search";
-
-        Mono<List<String>> responseMono = webClient.post()
-                .uri(fastApiUrl)
+    private List<Integer> fetchCollectionIdsFromFastApi(String query) {
+        Mono<List<Integer>> responseMono = webClient.post()
+                .uri(searchFastApiUrl)
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(Map.of("query", query))
                 .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<String>>() {
-                });
+                .bodyToMono(new ParameterizedTypeReference<List<Integer>>() {});
 
         // 블로킹 방식으로 결과 반환
-        return responseMono.block();
+        return responseMono.block();  // 예: [5, 3, 9]
+    }
+
+    // 태그가 달린 컬렉션 중 유저가 접근 가능한 것 - 인기 점수순 페이지
+    public Page<CollView> findCollViewsWithTag(String query, String userid, Pageable pageable) {
+        // 태그가 달린 컬렉션 id 목록 (인기 점수순, 조회자와 무관하므로 캐시)
+        List<Integer> rankedIds = searchResultCache.get(SearchResultCache.SearchType.TAG, query, () -> {
+            // 검색된 태그의 아이디 찾기 (태그 사전)
+            Integer tagid = tagDictionary.getId(query);
+            if (tagid == null) {
+                log.warn("No tag found for tagname: {}", query);
+                return Collections.emptyList();
+            }
+            return libCollTagRepository.findRankedCollectionIdsByTagid(tagid, tagSearchMaxResults).stream()
+                    .map(Number::intValue)
+                    .toList();
+        });
+
+        // 접근 가능한 것만 남긴 뒤 요청한 페이지만 CollView로 변환
+        List<Integer> accessibleIds = accessibleInOrder(rankedIds, userid);
+        int from = (int) Math.min(pageable.getOffset(), accessibleIds.size());
+        int to = Math.min(from + pageable.getPageSize(), accessibleIds.size());
+        List<CollView> collViews = collViewAssembler.assemble(accessibleIds.subList(from, to), userid);
+        return new PageImpl<>(collViews, unsorted(pageable), accessibleIds.size());
     }
 
-    public List<CollView> findCollViewsWithTag(String query, String userid) {
-        //int tagid = libTagRepository.findByTagName(query).getTagid(); // 검색된 태그의 아이디 찾기
-        Optional<TagEntity> tagOpt = Optional.ofNullable(libTagRepository.findByTagName(query));
-        if (tagOpt.isEmpty()) {
-            log.warn("No tag found for tagname: {}", query);
+    // 순위가 매겨진 컬렉션 id 중 조회자가 접근 가능한 것만 순서대로 (비로그인이면 공개 컬렉션만)
+    private List<Integer> accessibleInOrder(List<Integer> rankedIds, String userId) {
+        if (rankedIds == null || rankedIds.isEmpty()) {
             return Collections.emptyList();
         }
-        int tagid = tagOpt.get().getTagid();
-
-        List <CollectionTagEntity> colltags = libCollTagRepository.findByTagid(tagid); // 태그가 달린 컬렉션들
-
-        List<CollView> collViews = new ArrayList<>();
-
-        for (CollectionTagEntity colltag : colltags) {
-            CollView cv = makeCollectionView(colltag.getCollectionid(), userid);
-            collViews.add(cv);
-        }
-        return collViews;
-    }
-
-    private List<CollectionEntity> findCollsWithTag(String query) {
-        //int tagid = libTagRepository.findByTagName(query).getTagid(); // 검색된 태그의 아이디 찾기
-        Optional<TagEntity> tagOpt = Optional.ofNullable(libTagRepository.findByTagName(query));
-        if (tagOpt.isEmpty()) {
-            log.warn("No tag found for tagname: {}", query);
+        boolean anonymous = userId == null || userId.isBlank();
+        //차단/탈퇴 유저는 어떤 컬렉션에도 접근 불가
+        if (!anonymous && isBannedUser(userId)) {
             return Collections.emptyList();
         }
-        int tagid = tagOpt.get().getTagid();
 
-        List <CollectionTagEntity> colltags = libCollTagRepository.findByTagid(tagid); // 태그가 달린 컬렉션들
-
-//        List<CollView> collViews = new ArrayList<>();
-        List <CollectionEntity> colls = new ArrayList<>();
-        for (CollectionTagEntity colltag : colltags) {
-            colls.add(libCollectionRepository.findByCollectionid(colltag.getCollectionid()));
+        Set<Integer> accessible = new HashSet<>();
+        List<Integer> distinctIds = new ArrayList<>(new LinkedHashSet<>(rankedIds));
+        // Oracle IN 리스트 최대 1000개
+        for (int i = 0; i < distinctIds.size(); i += 1000) {
+            List<Integer> chunk = distinctIds.subList(i, Math.min(i + 1000, distinctIds.size()));
+            List<Number> ids = anonymous
+                    ? libCollectionRepository.findPublicIdsIn(chunk)
+                    : libCollectionRepository.findAccessibleIdsIn(userId, chunk);
+            ids.forEach(id -> accessible.add(id.intValue()));
         }
-        return colls;
+        return distinctIds.stream().filter(accessible::contains).toList();
     }
 
     @Transactional
@@ -822,162 +697,149 @@ public class LibraryService {
             return;
         }
 
-        // tagname에 해당하는 TagEntity 조회
-        Optional<TagEntity> tagEntityOpt = Optional.ofNullable(libTagRepository.findByTagName(tagname.trim()));
-        if (tagEntityOpt.isEmpty()) {
+        // tagname에 해당하는 태그의 검색 횟수 증가 (조회 없이 UPDATE 한 번)
+        int updated = libTagRepository.increaseSearchCountByTagName(tagname.trim());
+        if (updated == 0) {
             log.warn("No TagEntity found for tagname: {}", tagname);
             return;
         }
+        tagLeaderboard.onTagSearched(tagname.trim());
+    }
+
+    public Object getTopicColls4LoginUser(String userId, String selectedTag, Pageable pageable) {
+        //차단/탈퇴 유저는 어떤 컬렉션에도 접근 불가
+        if (isBannedUser(userId)) {
+            return Page.empty(pageable);
+        }
+        //접근권한 필터 + 인기 점수순 정렬 + 페이징을 한 쿼리로 처리
+        Page<CollectionEntity> page = libCollectionRepository.findAccessibleRankedPageByTag(userId, selectedTag, unsorted(pageable));
+        log.info(selectedTag + "태그 달린 접근 가능 컬렉션 개수: " + page.getTotalElements());
+        return toCollViewPage(page, userId);
+    }
+
+    public Page<CollView>  getTopicColls4Anon(String selectedTag, Pageable pageable) {
+        // 공개 컬렉션만 인기 점수순으로 페이징
+        Page<CollectionEntity> page = libCollectionRepository.findPublicRankedPageByTag(selectedTag, unsorted(pageable));
+        return toCollViewPage(page, null);
+    }
 
-        // TagEntity의 검색 횟수 증가
-        TagEntity tagEntity = tagEntityOpt.get();
-        log.info("이전에 검색된 수: {}", tagEntity.getSearchCount());
-        tagEntity.setSearchCount(tagEntity.getSearchCount() + 1);
-        libTagRepository.save(tagEntity); // 변경 사항 저장
-        log.info("수정 후: {}", tagEntity.getSearchCount());
 
+    // 커서 기반 피드 (인기 점수순 keyset 페이징) ===========================================
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
 
+    // 비로그인 유저 - 전체/태그별 공개 컬렉션
+    public CursorPage<CollView> getColls4AnonByCursor(String selectedTag, String cursor, int size) {
+        FeedCursor after = decodeCursor(cursor);
+        int limit = clampCursorPageSize(size);
+        List<CollectionEntity> rows = (selectedTag == null)
+                ? libCollectionRepository.findPublicRankedAfter(after.getScore(), after.getCollectionid(), after.getMaxCollectionid(), limit + 1)
+                : libCollectionRepository.findPublicRankedAfterByTag(selectedTag, after.getScore(), after.getCollectionid(), after.getMaxCollectionid(), limit + 1);
+        return toCursorPage(rows, after, limit, null);
     }
 
-    public Object getTopicColls4LoginUser(String userId, String selectedTag, Pageable pageable) {
-        List<CollectionEntity> colls= findCollsWithTag(selectedTag);
-        log.info(selectedTag+ "태그 달린 컬렉션 개수: "+colls.size());
-        log.info(colls.toString());
-
-        List <CollView> collViews = new ArrayList<>();
-
-        //접근권한에 따라 리턴해야 함 => 가능한 것만 filteredColls로 만듦
-        List <CollectionEntity> filteredColls = new ArrayList<>();
-        for (CollectionEntity coll : colls) {
-            int collid = coll.getCollectionid();
-            if (canUserAccessCollection(collid, userId)) {
-                filteredColls.add(coll);
-            }
-        }
-        // sort
-        List<CollectionEntity> sortedColls = sortCollsByTotalScore(filteredColls);
-        for (CollectionEntity coll : sortedColls) {
-            if (canUserAccessCollection(coll.getId(), userId)) {
-                collViews.add(makeCollectionView(coll.getCollectionid(), userId));
-            }
-        }
-        //페이징 처리
-        int start = (int) pageable.getOffset(); // page * size
-        int end = Math.min(start + pageable.getPageSize(), collViews.size());
-        if (start > end) {
-            return new PageImpl<>(List.of(), pageable, collViews.size());
+    // 로그인 유저 - 전체/태그별 접근 가능 컬렉션
+    public CursorPage<CollView> getColls4LoginUserByCursor(String userId, String selectedTag, String cursor, int size) {
+        FeedCursor after = decodeCursor(cursor);
+        int limit = clampCursorPageSize(size);
+        //차단/탈퇴 유저는 어떤 컬렉션에도 접근 불가
+        if (isBannedUser(userId)) {
+            return toCursorPage(List.of(), after, limit, userId);
         }
-        List<CollView> pagedResult = collViews.subList(start, end);
-        return new PageImpl<>(pagedResult, pageable, collViews.size());
+        List<CollectionEntity> rows = (selectedTag == null)
+                ? libCollectionRepository.findAccessibleRankedAfter(userId, after.getScore(), after.getCollectionid(), after.getMaxCollectionid(), limit + 1)
+                : libCollectionRepository.findAccessibleRankedAfterByTag(userId, selectedTag, after.getScore(), after.getCollectionid(), after.getMaxCollectionid(), limit + 1);
+        return toCursorPage(rows, after, limit, userId);
+    }
 
+    // 커서가 없으면 현재 최대 컬렉션id로 고정한 첫 페이지 커서
+    private FeedCursor decodeCursor(String cursor) {
+        FeedCursor after = FeedCursor.decode(cursor);
+        return after != null ? after : FeedCursor.first(libCollectionRepository.findMaxCollectionid());
     }
 
-    public Page<CollView>  getTopicColls4Anon(String selectedTag, Pageable pageable) {
-        List<CollectionEntity> colls= findCollsWithTag(selectedTag);
-        List <CollView> collViews = new ArrayList<>();
-
-        List <CollectionEntity> filteredColls = new ArrayList<>();
-        for (CollectionEntity coll : colls) {
-            if (coll.getVisibility() == 1) {
-                log.info("공개 컬렉션 뷰 만들기");
-                filteredColls.add(coll);
-            }
-            // 그 외의 경우 접근 불가
-            else {
-                log.info("접근 불가 컬렉션");
-            }
-        }
-        List<CollectionEntity> sortedColls = sortCollsByTotalScore(filteredColls);
-        for (CollectionEntity coll : sortedColls) {
-            collViews.add(makeCollectionView(coll.getCollectionid(), null));
-        }
-        //return collViews;
+    private int clampCursorPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+    }
+
+    // limit + 1개를 조회해 다음 페이지 존재 여부 판단, 마지막 항목으로 다음 커서 생성
+    private CursorPage<CollView> toCursorPage(List<CollectionEntity> rows, FeedCursor after, int limit, String userId) {
+        boolean hasNext = rows.size() > limit;
+        List<CollectionEntity> pageRows = hasNext ? rows.subList(0, limit) : rows;
 
-        //페이징 처리
-        int start = (int) pageable.getOffset(); // page * size
-        int end = Math.min(start + pageable.getPageSize(), collViews.size());
-        if (start > end) {
-            return new PageImpl<>(List.of(), pageable, collViews.size());
+        String nextCursor = null;
+        if (hasNext) {
+            CollectionEntity last = pageRows.get(pageRows.size() - 1);
+            nextCursor = after.next(last.getPopularityScore(), last.getCollectionid()).encode();
         }
-        List<CollView> pagedResult = collViews.subList(start, end);
-        return new PageImpl<>(pagedResult, pageable, collViews.size());
+        return CursorPage.<CollView>builder()
+                .content(collViewAssembler.assembleFrom(pageRows, userId))
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .size(limit)
+                .build();
     }
 
 
     /*
-    interaction score 높은 순+ 같은 순위면 컬렉션이 받은 좋아요+북마크(readCount) 개수순으로 추천
+    아직 보지 않은 추천 후보 먼저 + 같은 그룹 안에서는 인기 점수(좋아요+북마크+조회수)순으로 추천
+    후보는 RecommendationCandidateGenerator가 TB_USER_COLL_SCORES에 미리 계산해 둠
     30(topN)개씩 무한번 요청해 아래에 붙일 수 있음
-    단 프론트가 너무 무거워지면 페이지 새로고침하기? 또는 다른 전략?
     * */
     public Page<CollView> getRecPage4LoginUser(String userid, Pageable pageable) {
-        List <CollView> recColls = new ArrayList<>();
-
-        // 유저와 상호작용한 이력이 있는 컬렉션 불러오기
-        // List<UserCollScores> userCollScore: userid에 해당하는 TB_USER_COLL_SCORES를 score이 큰 순서로 불러옴 (추천은 나중에)
-        // userCollScore를 돌면서 userCollScore.getCollectionid()에 해당하는 likeEntity 개수 + bookmarkentity 개수 카운트 + coll.getReadCount()를 구함
-        // 구한 합계값 순위대로 interactedColls에 add함.
-        List<UserCollScoreEntity> userScores = libUserCollScoreRepository.findByUseridOrderByScoreDesc(userid); // 사용자 상호작용 점수 내림차순
-        List <CollView> interactedColls = userScores.stream()
-                .map(score -> {
-                    CollectionEntity coll = libCollectionRepository.findByCollectionid(score.getCollectionid());
-
-                    if (coll == null) return null;
-
-                    int likeCount = libLikeRepository.countByCollectionid(coll.getCollectionid());
-                    int bookmarkCount = libBookmarkRepository.countByCollectionid(coll.getCollectionid());
-                    int readCount = coll.getReadCount();
-                    int totalScore = likeCount + bookmarkCount + readCount;
-
-                    CollView view = makeCollectionView(coll.getCollectionid(), userid);
-                    return view == null ? null : new AbstractMap.SimpleEntry<>(view, totalScore); // 💡 CollView와 점수 한 쌍
-                })
-                .filter(Objects::nonNull)
-                .filter(entry -> canUserAccessCollection(entry.getKey().getCollectionid(), userid))
-                .sorted((e1, e2) -> Integer.compare(e2.getValue(), e1.getValue())) // 💡 totalScore 기준 내림차순
-                .map(Map.Entry::getKey) // 💡 CollView만 추출
-                .toList();
-
-        // 유저와 상호작용한 이력이 "없는" 컬렉션 불러오기
-        // List<CollectionEntity> pureColls: userid에 해당하는 TB_USER_COLL_SCORES가 없는 컬렉션 불러오기
-        // coll 하나씩 돌면서 coll.collectionid를 가진 likeEntity 개수 + bookmarkentity 개수 카운트 + coll.getReadCount()를 구함
-        // 구한 합계값 순위대로 RecColl에 add함.
-        List<CollectionEntity> allCollections = libCollectionRepository.findAll(); // 공개된 컬렉션 전체
+        //차단/탈퇴 유저는 어떤 컬렉션에도 접근 불가
+        if (isBannedUser(userid)) {
+            return Page.empty(pageable);
+        }
+        recommendationCandidateGenerator.ensureCandidates(userid);
 
-        Set<Integer> interactedIds = userScores.stream()
-                .map(UserCollScoreEntity::getCollectionid)
-                .collect(Collectors.toSet());
+        // 후보 + 상호작용 이력 컬렉션 중 지금 접근 가능한 것만 페이징 조회
+        Page<CollectionEntity> page = libCollectionRepository.findRecommendedPage(userid, unsorted(pageable));
+        return toCollViewPage(page, userid);
+    }
 
-        List <CollView> pureColls = allCollections.stream()
-                .filter(coll -> !interactedIds.contains(coll.getCollectionid()))
-                .map(coll -> {
-                    int likeCount = libLikeRepository.countByCollectionid(coll.getCollectionid());
-                    int bookmarkCount = libBookmarkRepository.countByCollectionid(coll.getCollectionid());
-                    int readCount = coll.getReadCount();
-
-                    int totalScore = likeCount + bookmarkCount + readCount;
-                    CollView view = makeCollectionView(coll.getCollectionid(), userid);
-                    return view == null ? null : new AbstractMap.SimpleEntry<>(view, totalScore);
-                })
-                .filter(entry -> canUserAccessCollection(entry.getKey().getCollectionid(), userid))
-                .filter(Objects::nonNull)
-                .sorted((e1, e2) -> Integer.compare(e2.getValue(), e1.getValue())) // 💡 totalScore 기준 내림차순
-                .map(Map.Entry::getKey) // 💡 CollView만 추출
-                .toList();
+    // 임베딩 유사도 추천 ===========================================
+    // 접근 권한 필터로 빠지는 컬렉션을 고려해 요청 수보다 넉넉히 후보를 뽑음
+    private static final int SIMILAR_OVERFETCH = 3;
+    // '좋아요 기반 추천'에 사용하는 최근 좋아요 수
+    private static final int LIKE_SEED_COUNT = 50;
 
-        // 상호작용 이력 없는  PureColl먼저 추천하도록 결과값 만듦
-        recColls.addAll(pureColls);
-        recColls.addAll(interactedColls);
+    // 이 컬렉션과 비슷한 컬렉션 (userId가 null이면 비로그인 - 공개 컬렉션만)
+    public List<CollView> getSimilarColls(int collectionId, String userId, int size) {
+        List<Integer> similarIds = collectionSimilarityIndex.moreLikeThis(collectionId, size * SIMILAR_OVERFETCH);
+        return toAccessibleCollViews(similarIds, userId, size);
+    }
 
-        // 4. 페이징 처리
-        int start = (int) pageable.getOffset(); // page * size
-        int end = Math.min(start + pageable.getPageSize(), recColls.size());
+    // 유저가 최근 좋아요한 컬렉션들과 비슷한 컬렉션 (이미 좋아요한 컬렉션 제외)
+    public List<CollView> getLikeBasedRecs(String userid, int size) {
+        List<Integer> likedIds = libLikeRepository.findRecentLikedCollectionIds(userid, PageRequest.of(0, LIKE_SEED_COUNT));
+        if (likedIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Integer> similarIds = collectionSimilarityIndex.similarTo(likedIds, size * SIMILAR_OVERFETCH);
+        return toAccessibleCollViews(similarIds, userid, size);
+    }
 
-        if (start > end) {
-            return new PageImpl<>(List.of(), pageable, recColls.size());
+    // 유사도 순서를 유지하면서 접근 가능한 컬렉션만 size개까지 CollView로 변환
+    private List<CollView> toAccessibleCollViews(List<Integer> orderedIds, String userId, int size) {
+        if (orderedIds.isEmpty()) {
+            return new ArrayList<>();
         }
+        Map<Integer, CollectionEntity> collections = new HashMap<>();
+        libCollectionRepository.findAllById(orderedIds).forEach(coll -> collections.put(coll.getCollectionid(), coll));
+        List<CollectionEntity> ordered = orderedIds.stream()
+                .map(collections::get)
+                .filter(Objects::nonNull)
+                .toList();
 
-        List<CollView> pagedResult = recColls.subList(start, end);
-        return new PageImpl<>(pagedResult, pageable, recColls.size());
+        List<CollectionEntity> accessible;
+        if (userId == null) {
+            // 비로그인 유저는 공개 컬렉션만 (작성자 차단/탈퇴 여부는 평가기로 확인)
+            accessible = ordered.stream().filter(coll -> coll.getVisibility() == 1).toList();
+            accessible = collectionAccessEvaluator.activeAuthorsOnly(accessible);
+        } else {
+            accessible = collectionAccessEvaluator.forViewer(userId).filter(ordered);
+        }
+        return collViewAssembler.assembleFrom(accessible.stream().limit(size).toList(), userId);
     }
 
     @Transactional
@@ -987,73 +849,21 @@ public class LibraryService {
         libReportRepository.saveAndFlush(reportEntity);
     }
 
-    public Object getWhoLiked(int collectionid, String loginUser) {
-        List <UserCardView> usersWhoLiked = new ArrayList<>();
-
-        List <LikeEntity> collLikes = libLikeRepository.findByCollectionid(collectionid);
-        for (LikeEntity like : collLikes) {
-            UserCardView likedUser = makeUserView(like.getUserid(), loginUser);
-            usersWhoLiked.add(likedUser);
-        }
-        return usersWhoLiked;
+    // 컬렉션에 좋아요한 유저 카드 페이지 (최신순)
+    public Page<UserCardView> getWhoLiked(int collectionid, String loginUser, Pageable pageable) {
+        Page<String> userIds = libLikeRepository.findUseridsByCollectionid(collectionid, unsorted(pageable));
+        return new PageImpl<>(makeUserViews(userIds.getContent(), loginUser), userIds.getPageable(), userIds.getTotalElements());
     }
 
-    public Object getWhoBookmarked(int collectionid, String loginUser) {
-        List <UserCardView> usersWhoBookmarked = new ArrayList<>();
-
-        List <BookmarkEntity> collBMs =  libBookmarkRepository.findByCollectionid(collectionid);
-        for (BookmarkEntity bm : collBMs) {
-            UserCardView bmUser = makeUserView(bm.getUserid(), loginUser);
-            usersWhoBookmarked.add(bmUser);
-        }
-        return usersWhoBookmarked;
+    // 컬렉션을 북마크한 유저 카드 페이지
+    public Page<UserCardView> getWhoBookmarked(int collectionid, String loginUser, Pageable pageable) {
+        Page<String> userIds = libBookmarkRepository.findUseridsByCollectionid(collectionid, unsorted(pageable));
+        return new PageImpl<>(makeUserViews(userIds.getContent(), loginUser), userIds.getPageable(), userIds.getTotalElements());
     }
 
     public boolean canUserAccessCollection(int collectionId, String userId) {
         CollectionEntity collection = libCollectionRepository.findByCollectionid(collectionId);
-        Optional<UserEntity> user = libUserRepository.findByUserId(userId);
-        Optional<UserEntity> author = libUserRepository.findByUserId(collection.getAuthorid());
-        if (collection == null) {
-            return false; // 컬렉션이 존재하지 않음
-        }
-        //차단된 유저는 접근 불가
-        if (user.get().getRole().equals("BAD") || user.get().getRole().equals("EXIT") ) {
-            return false;
-        }
-        //차단된 유저의 컬렉션은 접근 불가
-        if (author.get().getRole().equals("BAD") || author.get().getRole().equals("EXIT") ) {
-            return false;
-        }
-
-        // 작성자 본인은 무조건 접근 가능
-        if (userId.equals(collection.getAuthorid())) {
-            return true;
-        }
-
-        // 공개(1)일 경우
-        if (collection.getVisibility() == 1) {
-            Optional<RelationshipEntity> relationship1 = libRelationshipRepository.findByUseridAndTargetid(userId, collection.getAuthorid());
-            Optional<RelationshipEntity> relationship2 = libRelationshipRepository.findByUseridAndTargetid(collection.getAuthorid(), userId);
-
-            // 차단 상태라면 접근 불가
-            String status1 = relationship1.map(RelationshipEntity::getStatus).orElse(null);
-            String status2 = relationship2.map(RelationshipEntity::getStatus).orElse(null);
-            if ("2".equals(status1) || "2".equals(status2)) {
-                return false;
-            }
-            // 차단이 아니라면 접근 가능
-            return true;
-        }
-
-        // 팔로워만(2)일 경우
-        if (collection.getVisibility() == 2) {
-            Optional<RelationshipEntity> relationship = libRelationshipRepository.findByUseridAndTargetid(userId, collection.getAuthorid());
-            String status = relationship.map(RelationshipEntity::getStatus).orElse(null);
-            return "1".equals(status); // 팔로우 상태일 때만 true
-        }
-
-        // 작성자만(3)인 경우는 이미 본인 여부 확인됨
-        return false; // 그 외는 접근 불가
+        return collectionAccessEvaluator.forViewer(userId).canAccess(collection);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.web.memoire.library.model.service;
+
+import com.web.memoire.library.jpa.repository.LibCollectionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * TB_COLLECTION.POPULARITY_SCORE 일괄 재계산 작업.
+ * 평소에는 좋아요/북마크/조회 시 증감 쿼리로 유지하고,
+ * 증감이 누락된 경우(직접 삭제, 컬렉션 삭제 등)를 주기적으로 실제 값으로 맞춘다.
+ * 기동 시에도 한 번 실행해 컬럼 추가 전부터 있던 컬렉션의 점수(기본값 0)를 채운다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PopularityScoreReconciler {
+
+    private final LibCollectionRepository libCollectionRepository;
+
+    // 기동 직후 1회 + 매일 새벽 4시 (값이 다른 행만 갱신)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${memoire.popularity.reconcile-cron:0 0 4 * * *}")
+    @Async("batchJobExecutor")
+    @Transactional
+    public void reconcile() {
+        int updated = libCollectionRepository.reconcilePopularityScores();
+        log.info("인기 점수 재계산 완료 - 보정된 컬렉션 수: {}", updated);
+    }
+}
@@ -0,0 +1,114 @@
+package com.web.memoire.library.model.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 컬렉션 조회수 쓰기 지연 버퍼.
+ * 조회 시에는 메모리 카운터만 올리고(행 잠금 없음), 주기적으로/종료 시
+ * READ_COUNT = READ_COUNT + ? 배치 UPDATE로 한 번에 반영한다.
+ * 인기 점수(POPULARITY_SCORE)도 같은 값만큼 함께 증가시킨다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReadCountBuffer {
+
+    private static final String FLUSH_SQL =
+            "UPDATE TB_COLLECTION SET READ_COUNT = READ_COUNT + ?, POPULARITY_SCORE = POPULARITY_SCORE + ? WHERE COLLECTIONID = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 컬렉션id -> 아직 DB에 반영되지 않은 조회수
+    private final Map<Integer, LongAdder> pending = new ConcurrentHashMap<>();
+
+    // 전체 미반영 조회수 (모니터링 조회 시 맵을 순회하지 않도록 따로 누적)
+    private final LongAdder pendingTotal = new LongAdder();
+
+    public void increment(int collectionId) {
+        pending.computeIfAbsent(collectionId, k -> new LongAdder()).increment();
+        pendingTotal.increment();
+    }
+
+    // 특정 컬렉션의 미반영 조회수 (화면 표시용)
+    public long getPending(int collectionId) {
+        LongAdder adder = pending.get(collectionId);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    // 전체 미반영 조회수 (모니터링용)
+    public long getPendingDelta() {
+        return pendingTotal.sum();
+    }
+
+    // 미반영 조회수가 남아 있는 컬렉션 수 (모니터링용)
+    public int getPendingCollections() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${memoire.read-count.flush-interval-ms:5000}")
+    public void flush() {
+        // 키를 (키, 카운터) 쌍으로 떼어낸 뒤 합계를 반영 - 이후 조회는 새 카운터에 쌓인다
+        List<Integer> ids = new ArrayList<>();
+        List<LongAdder> drained = new ArrayList<>();
+        List<Long> deltas = new ArrayList<>();
+        List<Object[]> batchArgs = new ArrayList<>();
+        pending.forEach((collectionId, adder) -> {
+            if (pending.remove(collectionId, adder)) {
+                long delta = adder.sum();
+                ids.add(collectionId);
+                drained.add(adder);
+                deltas.add(delta);
+                if (delta > 0) {
+                    batchArgs.add(new Object[]{delta, delta, collectionId});
+                }
+            }
+        });
+        if (batchArgs.isEmpty()) {
+            restore(ids, drained, deltas, false);
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batchArgs);
+            restore(ids, drained, deltas, false);
+            log.debug("조회수 반영 완료 - 컬렉션 수: {}, 남은 미반영 조회수: {}", batchArgs.size(), getPendingDelta());
+        } catch (Exception e) {
+            // 실패한 조회수는 버퍼에 되돌려 다음 주기에 다시 시도
+            restore(ids, drained, deltas, true);
+            log.error("조회수 반영 실패 - 미반영 조회수: {}", getPendingDelta(), e);
+        }
+    }
+
+    // 떼어낸 카운터를 정리
+    // 반영 성공 시에는 떼어내는 사이 늦게 들어온 조회수만, 실패 시에는 전부 다시 버퍼에 넣는다
+    private void restore(List<Integer> ids, List<LongAdder> drained, List<Long> deltas, boolean failed) {
+        for (int i = 0; i < ids.size(); i++) {
+            long delta = deltas.get(i);
+            long late = drained.get(i).sum() - delta;
+            long rest = failed ? delta + late : late;
+            if (rest != 0) {
+                pending.computeIfAbsent(ids.get(i), k -> new LongAdder()).add(rest);
+            }
+            if (!failed) {
+                pendingTotal.add(-delta);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("종료 전 조회수 반영 - 미반영 조회수: {}", getPendingDelta());
+        flush();
+    }
+}
@@ -0,0 +1,98 @@
+package com.web.memoire.library.model.service;
+
+import com.web.memoire.library.jpa.repository.LibUserCollScoreRepository;
+import com.web.memoire.library.jpa.repository.LibUserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 로그인 유저 추천 후보 생성 작업.
+ * 유저별로 접근 가능한 컬렉션 중 아직 이력이 없는 상위 N개를
+ * 유저 태그 프로필(TB_USER_TAG_PROFILE)과 겹치는 정도 → 인기 점수 순으로 골라
+ * TB_USER_COLL_SCORES에 후보(seen=0, interacted=0)로 미리 넣어 둔다.
+ * 추천 페이지는 이 테이블을 페이징 조회만 한다.
+ * 접근 가능한 새 컬렉션이 없어 후보가 0개인 유저도 있으므로, 후보가 0개였던 유저의 생성 시각을 기억해
+ * empty-retry-ms 안에는 요청 시점 생성을 다시 하지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecommendationCandidateGenerator {
+
+    private final LibUserRepository libUserRepository;
+    private final LibUserCollScoreRepository libUserCollScoreRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // 유저당 추천 후보 수
+    @Value("${memoire.recommend.candidate-size:300}")
+    private int candidateSize;
+
+    // 후보가 0개여도 요청 시점 재생성을 다시 하지 않는 시간 (기본 30분)
+    @Value("${memoire.recommend.empty-retry-ms:1800000}")
+    private long emptyRetryMs;
+
+    // 후보가 0개였던 유저를 기억하는 최대 수
+    @Value("${memoire.recommend.empty-cache-size:10000}")
+    private int emptyCacheSize;
+
+    // userid -> 후보가 0개로 생성된 시각 (접근 순서 LRU, emptyCacheSize 개까지만 유지)
+    private final Map<String, Long> emptyGeneratedAt = new LinkedHashMap<>(256, 0.75f, true);
+
+    // 3시간마다 전체 유저 후보 갱신 (배치 전용 실행기에서 실행)
+    @Scheduled(cron = "${memoire.recommend.cron:0 0 */3 * * *}")
+    @Async("batchJobExecutor")
+    public void regenerateAll() {
+        int users = 0;
+        for (String userid : libUserRepository.findActiveUserIds()) {
+            try {
+                regenerate(userid);
+                users++;
+            } catch (Exception e) {
+                log.error("추천 후보 생성 실패 - userid: {}", userid, e);
+            }
+        }
+        log.info("추천 후보 생성 완료 - 유저 수: {}", users);
+    }
+
+    // 한 유저의 보지 않은 후보를 최신 인기순으로 교체 (유저 단위 트랜잭션)
+    public void regenerate(String userid) {
+        Integer inserted = transactionTemplate.execute(status -> {
+            libUserCollScoreRepository.deleteCandidates(userid);
+            return libUserCollScoreRepository.insertCandidates(userid, candidateSize);
+        });
+        synchronized (emptyGeneratedAt) {
+            if (inserted != null && inserted > 0) {
+                emptyGeneratedAt.remove(userid);
+                return;
+            }
+            emptyGeneratedAt.put(userid, System.currentTimeMillis());
+            if (emptyGeneratedAt.size() > emptyCacheSize) {
+                emptyGeneratedAt.remove(emptyGeneratedAt.keySet().iterator().next());
+            }
+        }
+    }
+
+    // 후보가 하나도 없는 유저(신규 가입 등)는 요청 시점에 바로 생성 (최근에 생성했는데도 0개면 건너뜀)
+    public void ensureCandidates(String userid) {
+        synchronized (emptyGeneratedAt) {
+            Long generatedAt = emptyGeneratedAt.get(userid);
+            if (generatedAt != null) {
+                if (System.currentTimeMillis() - generatedAt < emptyRetryMs) {
+                    return;
+                }
+                emptyGeneratedAt.remove(userid);
+            }
+        }
+        if (libUserCollScoreRepository.countCandidates(userid) == 0) {
+            regenerate(userid);
+        }
+    }
+}
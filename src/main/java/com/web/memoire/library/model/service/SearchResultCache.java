@@ -0,0 +1,72 @@
+package com.web.memoire.library.model.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 검색 결과 캐시 - (검색 종류, 정규화한 검색어) -> 순위가 매겨진 컬렉션 id 목록.
+ * 조회자와 무관한 순위만 저장하고, 접근 권한 필터와 CollView 변환은 꺼낸 뒤 요청마다 적용한다.
+ * TTL이 지나면 다시 계산하고, 최대 개수를 넘으면 가장 오래 안 쓴 항목부터 지운다(LRU).
+ * 새 컬렉션/태그는 TTL 안에서는 반영되지 않을 수 있다.
+ */
+@Component
+public class SearchResultCache {
+
+    public enum SearchType {
+        SEMANTIC, TAG
+    }
+
+    @Value("${memoire.search.cache-ttl-ms:300000}")
+    private long ttlMs;
+
+    @Value("${memoire.search.cache-size:1000}")
+    private int maxEntries;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+    // 캐시에 있으면 리턴, 없거나 만료됐으면 loader로 계산해 저장 (null/빈 결과는 저장하지 않음)
+    public List<Integer> get(SearchType type, String query, Supplier<List<Integer>> loader) {
+        String key = type + ":" + normalize(query);
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt > now) {
+                return entry.collectionIds;
+            }
+        }
+
+        List<Integer> collectionIds = loader.get();
+        if (collectionIds == null || collectionIds.isEmpty()) {
+            return collectionIds == null ? List.of() : collectionIds;
+        }
+        List<Integer> snapshot = List.copyOf(collectionIds);
+        synchronized (entries) {
+            entries.put(key, new Entry(snapshot, now + ttlMs));
+            if (entries.size() > maxEntries) {
+                entries.remove(entries.keySet().iterator().next());
+            }
+        }
+        return snapshot;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    // NFC + 앞뒤 공백 제거 + 연속 공백 1칸
+    static String normalize(String query) {
+        String normalized = Normalizer.normalize(query == null ? "" : query, Normalizer.Form.NFC);
+        return normalized.strip().replaceAll("\\s+", " ");
+    }
+
+    private record Entry(List<Integer> collectionIds, long expiresAt) {
+    }
+}
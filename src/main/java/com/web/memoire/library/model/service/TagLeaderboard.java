@@ -0,0 +1,106 @@
+package com.web.memoire.library.model.service;
+
+import com.web.memoire.common.dto.Tag;
+import com.web.memoire.common.entity.TagEntity;
+import com.web.memoire.library.jpa.repository.LibTagRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 인기 태그(검색 수 + 좋아요 수) 상위 CAPACITY개를 메모리에 유지하는 리더보드.
+ * 주기적으로 DB에서 다시 읽고, 그 사이에는 좋아요/검색 이벤트를 후보 목록에 바로 반영한다.
+ * (후보 밖의 태그가 순위권에 들어오는 경우는 다음 refresh 때 반영됨)
+ * 조회 시에는 DB를 거치지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TagLeaderboard {
+
+    // 메모리에 유지하는 후보 태그 수 (조회 가능한 최대 top-N)
+    public static final int CAPACITY = 50;
+
+    private final LibTagRepository libTagRepository;
+
+    // tagid -> 후보 태그 (점수 변경은 synchronized 블록 안에서만)
+    private final Map<Integer, Tag> candidates = new HashMap<>();
+    private final Map<String, Integer> candidateIdsByName = new HashMap<>();
+
+    // 점수순으로 정렬된 읽기 전용 스냅샷
+    private volatile List<Tag> ranking = List.of();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${memoire.tag-leaderboard.refresh-interval-ms:60000}",
+            initialDelayString = "${memoire.tag-leaderboard.refresh-interval-ms:60000}")
+    public void refresh() {
+        List<TagEntity> topTags = libTagRepository.findTopTags(CAPACITY);
+        synchronized (this) {
+            candidates.clear();
+            candidateIdsByName.clear();
+            for (TagEntity tag : topTags) {
+                // 임베딩은 순위 표시에 쓰지 않으므로 보관하지 않음
+                Tag dto = tag.toDto();
+                dto.setTagEmbedding(null);
+                candidates.put(dto.getTagid(), dto);
+                candidateIdsByName.put(dto.getTagName(), dto.getTagid());
+            }
+            rebuildRanking();
+        }
+        log.debug("인기 태그 리더보드 갱신 - 후보 수: {}", topTags.size());
+    }
+
+    // 상위 limit개 (1 ~ CAPACITY)
+    public List<Tag> getTop(int limit) {
+        List<Tag> snapshot = ranking;
+        int n = Math.max(0, Math.min(limit, snapshot.size()));
+        List<Tag> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Tag tag = snapshot.get(i);
+            result.add(Tag.builder()
+                    .tagid(tag.getTagid())
+                    .tagName(tag.getTagName())
+                    .searchCount(tag.getSearchCount())
+                    .likeCount(tag.getLikeCount())
+                    .build());
+        }
+        return result;
+    }
+
+    // 컬렉션 좋아요 시 해당 컬렉션 태그들의 like_count +1
+    public synchronized void onTagsLiked(Collection<Integer> tagIds) {
+        boolean changed = false;
+        for (Integer tagId : tagIds) {
+            Tag tag = candidates.get(tagId);
+            if (tag != null) {
+                tag.setLikeCount(tag.getLikeCount() + 1);
+                changed = true;
+            }
+        }
+        if (changed) {
+            rebuildRanking();
+        }
+    }
+
+    // 태그 검색 시 search_count +1
+    public synchronized void onTagSearched(String tagName) {
+        Integer tagId = candidateIdsByName.get(tagName);
+        if (tagId != null) {
+            Tag tag = candidates.get(tagId);
+            tag.setSearchCount(tag.getSearchCount() + 1);
+            rebuildRanking();
+        }
+    }
+
+    private void rebuildRanking() {
+        List<Tag> sorted = new ArrayList<>(candidates.values());
+        sorted.sort(Comparator.comparingInt((Tag tag) -> tag.getSearchCount() + tag.getLikeCount()).reversed()
+                .thenComparingInt(Tag::getTagid));
+        ranking = List.copyOf(sorted);
+    }
+}
@@ -124,6 +124,7 @@ public class SecurityConfig implements WebMvcConfigurer {
                                 "user/check-phone","/api/verification/generate-code",
                                 "/api/verification/verify-code").permitAll()
                         .requestMatchers("/**/library/top5tags").permitAll()
+                        .requestMatchers("/**/library/toptags").permitAll()
                         .requestMatchers("/logout").authenticated()
                         .requestMatchers("/admin/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
@@ -33,7 +33,7 @@ public class JWTFilter extends OncePerRequestFilter {
             "/user/social", "/user/socialSignUp","/user/check-phone","/api/verification/generate-code","/api/verification/verify-code",
             "/user/social/complete-signup",
             "/user/face-login",
-            "/oauth2/authorization/", "/oauth2/callback/success", "/api/library/top5tags"
+            "/oauth2/authorization/", "/oauth2/callback/success", "/api/library/top5tags", "/api/library/toptags"
     );
     //  인증이 필요 없는 특정 문자열로 시작하는 경로 목록
     private static final List<String> PERMIT_ALL_PATHS_START_WITH = Arrays.asList(
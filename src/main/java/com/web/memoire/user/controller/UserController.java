@@ -29,7 +29,6 @@ import org.springframework.web.multipart.MultipartFile;
 import com.web.memoire.user.model.service.FaceRecognitionService;
 
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -214,19 +213,8 @@ public class UserController {
     public ResponseEntity<?> completeSocialSignUp(@RequestBody SocialSignUpRequest request, HttpServletResponse response) {
         log.info("소셜 회원가입 완료 요청: userId={}", request.getUserId());
         try {
-            UserEntity userEntity = userRepository.findByUserId(request.getUserId())
-                    .orElseThrow(() -> new IllegalArgumentException("사용자 정보를 찾을 수 없습니다."));
-
-            userEntity.setName(request.getName());
-            userEntity.setNickname(request.getNickname());
-            userEntity.setPhone(request.getPhone());
-
-            if (request.getBirthday() != null && !request.getBirthday().isEmpty()) {
-                SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
-                userEntity.setBirthday(sdf.parse(request.getBirthday()));
-            }
-
-            userRepository.save(userEntity);
+            UserEntity userEntity = userService.completeSocialSignUp(request.getUserId(), request.getName(),
+                    request.getNickname(), request.getPhone(), request.getBirthday());
 
             User userDto = userEntity.toDto();
 
@@ -1,10 +1,8 @@
 package com.web.memoire.user.jpa.entity;
 
+import com.web.memoire.common.entity.EmbeddingConverter;
 import com.web.memoire.user.model.dto.FaceId;
-import jakarta.persistence.Column;
-import jakarta.persistence.Entity;
-import jakarta.persistence.Id;
-import jakarta.persistence.Table;
+import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -31,9 +29,11 @@ public class FaceIdEntity {
     @Column(name="DESCRIPTION", length = 100) // 기존 필드 (필요하다면 유지)
     private String description;
 
-    // 얼굴 임베딩 필드 (데이터베이스의 CLOB에 매핑됩니다)
-    @Column(name = "FACE_EMBEDDING") // CLOB 타입은 일반적으로 length를 지정하지 않습니다.
-    private String faceEmbedding; // List<Float>를 JSON 문자열로 저장
+    // 얼굴 임베딩 필드 (float32 바이너리 BLOB에 매핑됩니다. 얼굴 비교 정밀도를 위해 양자화하지 않음)
+    @Lob
+    @Convert(converter = EmbeddingConverter.class)
+    @Column(name = "FACE_EMBEDDING_VEC", columnDefinition = "BLOB")
+    private float[] faceEmbedding;
 
     public FaceId toDto(){
         return FaceId.builder()
@@ -13,5 +13,5 @@ public class FaceId {
     private String faceId;
     private String userId;
     private String description;
-    private String faceEmbedding; // 얼굴 임베딩 필드 유지
+    private float[] faceEmbedding; // 얼굴 임베딩 필드 유지
 }
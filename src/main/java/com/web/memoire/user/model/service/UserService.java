@@ -1,8 +1,7 @@
 package com.web.memoire.user.model.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.web.memoire.common.model.service.UserSearchIndex;
+import com.web.memoire.common.util.EmbeddingCodec;
 import com.web.memoire.user.jpa.entity.FaceIdEntity;
 import com.web.memoire.user.jpa.entity.PwdEntity;
 import com.web.memoire.user.jpa.entity.UserEntity;
@@ -43,7 +42,8 @@ public class UserService {
 
     private final FaceRecognitionService faceRecognitionService; // FastAPI 호출을 위한 서비스
 
-    private final ObjectMapper objectMapper; // JSON 직렬화/역직렬화를 위한 객체
+    private final UserSearchIndex userSearchIndex; // 닉네임 검색 인덱스
+
 
 
 
@@ -74,6 +74,7 @@ public class UserService {
             log.info("새로운 userId (UUID) 생성 및 할당: " + newUserId);
         }
         userRepository.save(user.toEntity());
+        userSearchIndex.upsertAfterCommit(user.getUserId(), user.getNickname(), user.getRole());
     }
 
     @Transactional
@@ -139,7 +140,32 @@ public class UserService {
             userEntity.setStatusMessage(statusMessage);
         }
 
-        return userRepository.save(userEntity);
+        UserEntity saved = userRepository.save(userEntity);
+        if (nickname != null) {
+            userSearchIndex.upsertAfterCommit(saved.getUserId(), saved.getNickname(), saved.getRole());
+        }
+        return saved;
+    }
+
+    // 소셜 로그인 추가 정보 입력 완료 (닉네임 검색 인덱스는 커밋 후 반영)
+    @Transactional
+    public UserEntity completeSocialSignUp(@NotNull String userId, String name, String nickname, String phone,
+                                           String birthday) throws ParseException {
+        UserEntity userEntity = userRepository.findByUserId(userId)
+                .orElseThrow(() -> new IllegalArgumentException("사용자 정보를 찾을 수 없습니다."));
+
+        userEntity.setName(name);
+        userEntity.setNickname(nickname);
+        userEntity.setPhone(phone);
+
+        if (birthday != null && !birthday.isEmpty()) {
+            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
+            userEntity.setBirthday(sdf.parse(birthday));
+        }
+
+        UserEntity saved = userRepository.save(userEntity);
+        userSearchIndex.upsertAfterCommit(saved.getUserId(), saved.getNickname(), saved.getRole());
+        return saved;
     }
 
     public User findUserByLoginIdAndPhone(@NotNull String loginId, String phone) {
@@ -177,13 +203,8 @@ public class UserService {
             throw new IllegalArgumentException("이미지에서 얼굴 임베딩을 추출할 수 없습니다. 얼굴이 명확한지 확인해주세요.");
         }
 
-        // 2. 추출된 임베딩을 JSON 문자열로 변환
-        String embeddingJson;
-        try {
-            embeddingJson = objectMapper.writeValueAsString(embedding);
-        } catch (JsonProcessingException e) {
-            throw new IOException("얼굴 임베딩을 JSON으로 변환하는 중 오류 발생", e);
-        }
+        // 2. 추출된 임베딩을 float 배열로 변환 (BLOB 저장은 EmbeddingConverter가 처리)
+        float[] embeddingVector = EmbeddingCodec.fromList(embedding);
 
         // 3. FaceIdEntity를 찾아 업데이트하거나 새로 생성하여 저장
         // 한 사용자당 하나의 얼굴 임베딩만 등록한다고 가정하고, loginId로 조회
@@ -192,14 +213,14 @@ public class UserService {
         FaceIdEntity faceIdEntity;
         if (existingFaceId.isPresent()) {
             faceIdEntity = existingFaceId.get();
-            faceIdEntity.setFaceEmbedding(embeddingJson);
+            faceIdEntity.setFaceEmbedding(embeddingVector);
             // facePath, description 등 다른 필드도 필요에 따라 업데이트
             // (facePath는 DB에서 제거되었으므로 여기서는 업데이트하지 않습니다.)
         } else {
             faceIdEntity = FaceIdEntity.builder()
                     .faceId(UUID.randomUUID().toString())
                     .userId(userId)
-                    .faceEmbedding(embeddingJson)
+                    .faceEmbedding(embeddingVector)
                     .description("User face embedding")
                     .build();
         }
@@ -240,20 +261,14 @@ public class UserService {
         }
 
         FaceIdEntity userFaceIdEntity = userFaceIdOptional.get();
-        String storedEmbeddingJson = userFaceIdEntity.getFaceEmbedding();
+        float[] storedEmbeddingVector = userFaceIdEntity.getFaceEmbedding();
 
-        if (storedEmbeddingJson == null || storedEmbeddingJson.isEmpty()) {
+        if (storedEmbeddingVector == null) {
             log.warn("authenticateUserByFace: 사용자 ID '{}' 의 임베딩 데이터가 비어 있습니다.", userIdToAuthenticate);
             return null;
         }
 
-        List<Float> storedEmbedding;
-        try {
-            storedEmbedding = objectMapper.readValue(storedEmbeddingJson, new TypeReference<List<Float>>() {});
-        } catch (JsonProcessingException e) {
-            log.error("저장된 임베딩 JSON 파싱 오류 (userId '{}', loginId '{}'): {}", userIdToAuthenticate, loginId, e.getMessage());
-            return null;
-        }
+        List<Float> storedEmbedding = EmbeddingCodec.toList(storedEmbeddingVector);
 
         if (storedEmbedding.isEmpty()) {
             log.warn("authenticateUserByFace: 사용자 ID '{}' 의 저장된 임베딩이 유효하지 않습니다 (비어있음).", userIdToAuthenticate);
@@ -312,6 +327,8 @@ public class UserService {
         // 사용자의 역할을 "EXIT"로 변경
         userEntity.setRole("EXIT");
         userRepository.save(userEntity);
+        // 탈퇴 유저는 검색되지 않도록 인덱스에서 제거
+        userSearchIndex.upsertAfterCommit(userId, userEntity.getNickname(), "EXIT");
 
 
     }
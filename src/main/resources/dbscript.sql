@@ -1,3 +1,5 @@
+DROP TABLE TB_FOLLOWING_FEED CASCADE CONSTRAINTS;
+DROP TABLE TB_USER_TAG_PROFILE CASCADE CONSTRAINTS;
 DROP TABLE TB_TAG_TITLE_SIMILARITY CASCADE CONSTRAINTS;
 DROP TABLE TB_USER_COLL_SCORES CASCADE CONSTRAINTS;
 DROP TABLE TB_COLLECTION_TAG CASCADE CONSTRAINTS;
@@ -142,7 +144,12 @@ CREATE TABLE TB_COLLECTION (
     visibility NUMBER DEFAULT 1 NOT NULL,
     created_date DATE DEFAULT SYSDATE NOT NULL,
     title_embedding CLOB,
+    title_embedding_vec BLOB,
     color VARCHAR2(50) NOT NULL,
+    popularity_score NUMBER DEFAULT 0 NOT NULL,
+    embedding_status VARCHAR2(10),
+    embedding_fail_count NUMBER DEFAULT 0 NOT NULL,
+    embedding_retry_at DATE,
     CONSTRAINT FK_COLL_AUTHOR FOREIGN KEY (authorid) REFERENCES TB_USER(userid)
 );
 COMMENT ON TABLE TB_COLLECTION IS '컬렉션 정보 테이블';
@@ -152,8 +159,16 @@ COMMENT ON COLUMN TB_COLLECTION.collection_title IS '컬렉션_제목';
 COMMENT ON COLUMN TB_COLLECTION.read_count IS '조회수';
 COMMENT ON COLUMN TB_COLLECTION.visibility IS '공유범위 (1:public, 2: follwer, 3: private)';
 COMMENT ON COLUMN TB_COLLECTION.created_date IS '작성일자';
-COMMENT ON COLUMN TB_COLLECTION.title_embedding IS '컬렉션 타이틀 임베딩';
+COMMENT ON COLUMN TB_COLLECTION.title_embedding IS '컬렉션 타이틀 임베딩 (구버전 JSON, title_embedding_vec로 이관 후 삭제 예정)';
+COMMENT ON COLUMN TB_COLLECTION.title_embedding_vec IS '컬렉션 타이틀 임베딩 (int8 양자화 바이너리)';
 COMMENT ON COLUMN TB_COLLECTION.color IS '색깔';
+COMMENT ON COLUMN TB_COLLECTION.popularity_score IS '인기 점수 (좋아요 수 + 북마크 수 + 조회수)';
+COMMENT ON COLUMN TB_COLLECTION.embedding_status IS '타이틀 임베딩 상태 (PENDING: 계산 대기, DONE: 완료, FAILED: 실패)';
+COMMENT ON COLUMN TB_COLLECTION.embedding_fail_count IS '타이틀 임베딩 연속 실패(FAILED) 횟수';
+COMMENT ON COLUMN TB_COLLECTION.embedding_retry_at IS 'FAILED 임베딩 다음 재시도 가능 시각';
+CREATE INDEX IDX_COLL_EMBEDDING_STATUS ON TB_COLLECTION (embedding_status);
+CREATE INDEX IDX_COLL_POPULARITY ON TB_COLLECTION (visibility, popularity_score DESC, collectionid DESC);
+CREATE INDEX IDX_COLL_AUTHOR_CREATED ON TB_COLLECTION (authorid, created_date DESC, collectionid DESC);
 
 ---
 
@@ -237,6 +252,8 @@ CREATE TABLE TB_FACEID (
     userid VARCHAR2(50) NOT NULL,
     face_path VARCHAR2(100),
     description VARCHAR2(100),
+    face_embedding CLOB,
+    face_embedding_vec BLOB,
     CONSTRAINT FK_FACEID_USER FOREIGN KEY (userid) REFERENCES TB_USER(userid)
 );
 COMMENT ON TABLE TB_FACEID IS 'Face ID 정보 테이블';
@@ -244,6 +261,8 @@ COMMENT ON COLUMN TB_FACEID.faceid IS 'faceID';
 COMMENT ON COLUMN TB_FACEID.userid IS '사용자ID';
 COMMENT ON COLUMN TB_FACEID.face_path IS 'FacePath';
 COMMENT ON COLUMN TB_FACEID.description IS '설명';
+COMMENT ON COLUMN TB_FACEID.face_embedding IS '얼굴 임베딩 (구버전 JSON, face_embedding_vec로 이관 후 삭제 예정)';
+COMMENT ON COLUMN TB_FACEID.face_embedding_vec IS '얼굴 임베딩 (float32 바이너리)';
 
 ---
 
@@ -253,13 +272,15 @@ CREATE TABLE TB_TAG (
     tag_name VARCHAR2(255),
     search_count NUMBER DEFAULT 0,
 like_count NUMBER DEFAULT 0,
-    tag_embedding CLOB
+    tag_embedding CLOB,
+    tag_embedding_vec BLOB
 );
 COMMENT ON TABLE TB_TAG IS '태그 정보 테이블';
 COMMENT ON COLUMN TB_TAG.tagid IS '태그 ID';
 COMMENT ON COLUMN TB_TAG.tag_name IS '태그 자체';
 COMMENT ON COLUMN TB_TAG.search_count IS '태그가 검색된 횟수';
-COMMENT ON COLUMN TB_TAG.tag_embedding IS '태그 임베딩';
+COMMENT ON COLUMN TB_TAG.tag_embedding IS '태그 임베딩 (구버전 JSON, tag_embedding_vec로 이관 후 삭제 예정)';
+COMMENT ON COLUMN TB_TAG.tag_embedding_vec IS '태그 임베딩 (int8 양자화 바이너리)';
 COMMENT ON COLUMN TB_TAG.like_count  IS '태그가 포함된 컬렉션이 좋아요된 수';
 
 ---
@@ -349,6 +370,39 @@ COMMENT ON COLUMN TB_TAG_TITLE_SIMILARITY.collectionid IS '컬렉션 id';
 COMMENT ON COLUMN TB_TAG_TITLE_SIMILARITY.similarity_score IS '유사도 계산 결과';
 COMMENT ON COLUMN TB_TAG_TITLE_SIMILARITY.calc_date IS '유사도 계산 시점';
 
+---
 
+-- TB_USER_TAG_PROFILE Table
+CREATE TABLE TB_USER_TAG_PROFILE (
+    userid VARCHAR2(50) NOT NULL,
+    tagid NUMBER NOT NULL,
+    tag_count NUMBER DEFAULT 0 NOT NULL,
+    PRIMARY KEY (userid, tagid),
+    CONSTRAINT FK_USER_TAG_PROFILE_USER FOREIGN KEY (userid) REFERENCES TB_USER(userid),
+    CONSTRAINT FK_USER_TAG_PROFILE_TAG FOREIGN KEY (tagid) REFERENCES TB_TAG(tagid)
+);
+COMMENT ON TABLE TB_USER_TAG_PROFILE IS '사용자별 태그 빈도 테이블 (공개 컬렉션 기준)';
+COMMENT ON COLUMN TB_USER_TAG_PROFILE.userid IS '사용자ID';
+COMMENT ON COLUMN TB_USER_TAG_PROFILE.tagid IS '태그ID';
+COMMENT ON COLUMN TB_USER_TAG_PROFILE.tag_count IS '사용자의 공개 컬렉션 중 해당 태그가 달린 컬렉션 수';
 
+---
 
+-- TB_FOLLOWING_FEED Table
+CREATE TABLE TB_FOLLOWING_FEED (
+    userid VARCHAR2(50) NOT NULL,
+    collectionid VARCHAR2(50) NOT NULL,
+    authorid VARCHAR2(50) NOT NULL,
+    created_date DATE NOT NULL,
+    PRIMARY KEY (userid, collectionid),
+    CONSTRAINT FK_FEED_USER FOREIGN KEY (userid) REFERENCES TB_USER(userid),
+    CONSTRAINT FK_FEED_COLL FOREIGN KEY (collectionid) REFERENCES TB_COLLECTION(collectionid)
+);
+CREATE INDEX IDX_FEED_USER_CREATED ON TB_FOLLOWING_FEED (userid, created_date DESC, collectionid DESC);
+CREATE INDEX IDX_FEED_USER_AUTHOR ON TB_FOLLOWING_FEED (userid, authorid);
+CREATE INDEX IDX_FEED_COLL ON TB_FOLLOWING_FEED (collectionid);
+COMMENT ON TABLE TB_FOLLOWING_FEED IS '팔로잉 피드 수신함 (팔로우 중인 작성자의 컬렉션, 작성 시 팔로워별로 추가)';
+COMMENT ON COLUMN TB_FOLLOWING_FEED.userid IS '피드를 받는 사용자ID (팔로워)';
+COMMENT ON COLUMN TB_FOLLOWING_FEED.collectionid IS '컬렉션ID';
+COMMENT ON COLUMN TB_FOLLOWING_FEED.authorid IS '컬렉션 작성자ID (언팔로우 시 삭제용)';
+COMMENT ON COLUMN TB_FOLLOWING_FEED.created_date IS '컬렉션 작성일 (피드 정렬 기준)';
@@ -0,0 +1,143 @@
+package com.web.memoire.common.model.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmbeddingServiceTest {
+
+    private RecordingProvider provider;
+    private StubEmbeddingProvider reference;
+    private EmbeddingService embeddingService;
+
+    @BeforeEach
+    void setUp() {
+        provider = new RecordingProvider();
+        ReflectionTestUtils.setField(provider, "dimension", 8);
+        reference = new StubEmbeddingProvider();
+        ReflectionTestUtils.setField(reference, "dimension", 8);
+        embeddingService = new EmbeddingService(provider);
+        ReflectionTestUtils.setField(embeddingService, "cacheSize", 100);
+        ReflectionTestUtils.setField(embeddingService, "batchWindowMs", 200L);
+        ReflectionTestUtils.setField(embeddingService, "maxBatchSize", 100);
+        ReflectionTestUtils.setField(embeddingService, "timeoutMs", 5000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        embeddingService.shutdown();
+    }
+
+    @Test
+    void cachesByNormalizedText() {
+        float[] first = embeddingService.embed("여행  기록");
+        float[] second = embeddingService.embed("  여행 기록 ");
+
+        assertSame(first, second);
+        assertEquals(1, provider.calls().size());
+        assertEquals(List.of("여행 기록"), provider.calls().get(0));
+    }
+
+    @Test
+    void returnsStubVectorForText() {
+        float[] vector = embeddingService.embed("강아지");
+
+        assertArrayEquals(expected("강아지"), vector);
+    }
+
+    @Test
+    void coalescesConcurrentRequestsForSameText() throws Exception {
+        CompletableFuture<float[]> first = embeddingService.embedAsync("바다");
+        CompletableFuture<float[]> second = embeddingService.embedAsync("바다");
+
+        assertSame(first, second);
+        assertNotNull(first.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of("바다")), provider.calls());
+    }
+
+    @Test
+    void batchesDifferentTextsWithinWindow() {
+        List<String> texts = List.of("a", "b", "c", "d", "e");
+
+        List<float[]> vectors = embeddingService.embedAll(texts);
+
+        assertEquals(1, provider.calls().size());
+        assertEquals(texts, provider.calls().get(0));
+        for (int i = 0; i < texts.size(); i++) {
+            assertArrayEquals(expected(texts.get(i)), vectors.get(i));
+        }
+    }
+
+    @Test
+    void splitsBatchesAtMaxBatchSize() {
+        ReflectionTestUtils.setField(embeddingService, "maxBatchSize", 2);
+
+        List<float[]> vectors = embeddingService.embedAll(List.of("a", "b", "c", "d", "e"));
+
+        assertEquals(5, vectors.size());
+        int total = 0;
+        for (List<String> call : provider.calls()) {
+            assertTrue(call.size() <= 2, "배치 크기 초과: " + call);
+            total += call.size();
+        }
+        assertEquals(5, total);
+    }
+
+    @Test
+    void rejectsBlankTextWithoutCallingProvider() {
+        assertThrows(IllegalArgumentException.class, () -> embeddingService.embedAsync("   "));
+        assertThrows(IllegalArgumentException.class, () -> embeddingService.embed(null));
+        assertTrue(provider.calls().isEmpty());
+    }
+
+    @Test
+    void retriesFailedBatchOneByOne() throws Exception {
+        provider.failOn = Set.of("bad");
+
+        CompletableFuture<float[]> good = embeddingService.embedAsync("good");
+        CompletableFuture<float[]> bad = embeddingService.embedAsync("bad");
+
+        assertNotNull(good.get(5, TimeUnit.SECONDS));
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> bad.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+        assertEquals(List.of(List.of("good", "bad"), List.of("good"), List.of("bad")), provider.calls());
+    }
+
+    private float[] expected(String text) {
+        return reference.embed(List.of(text)).get(0);
+    }
+
+    // 호출(배치)마다 입력을 기록하고, failOn에 든 텍스트가 섞인 호출은 실패시키는 스텁
+    private static class RecordingProvider extends StubEmbeddingProvider {
+
+        private final List<List<String>> calls = new ArrayList<>();
+        private volatile Set<String> failOn = Set.of();
+
+        @Override
+        public List<float[]> embed(List<String> texts) {
+            synchronized (calls) {
+                calls.add(List.copyOf(texts));
+            }
+            if (texts.stream().anyMatch(failOn::contains)) {
+                throw new IllegalStateException("400 Bad Request");
+            }
+            return super.embed(texts);
+        }
+
+        List<List<String>> calls() {
+            synchronized (calls) {
+                return new ArrayList<>(calls);
+            }
+        }
+    }
+}
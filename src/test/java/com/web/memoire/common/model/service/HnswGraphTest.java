@@ -0,0 +1,145 @@
+package com.web.memoire.common.model.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HnswGraphTest {
+
+    private static final int DIM = 16;
+
+    private Random random;
+    private HnswGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        random = new Random(7);
+        graph = new HnswGraph(16, 100);
+    }
+
+    @Test
+    void emptyGraphReturnsNothing() {
+        assertTrue(graph.search(randomUnitVector(), 5, 64).isEmpty());
+        assertEquals(0, graph.size());
+    }
+
+    @Test
+    void findsStoredVectorFirst() {
+        Map<Integer, float[]> vectors = addRandom(500);
+
+        for (int id : List.of(0, 123, 499)) {
+            assertEquals(id, (int) graph.search(vectors.get(id), 1, 64).get(0));
+        }
+    }
+
+    @Test
+    void recallAgainstBruteForce() {
+        Map<Integer, float[]> vectors = addRandom(2000);
+
+        int hits = 0;
+        int total = 0;
+        for (int q = 0; q < 50; q++) {
+            float[] query = randomUnitVector();
+            Set<Integer> expected = new HashSet<>(bruteForce(vectors, query, 10));
+            for (int id : graph.search(query, 10, 64)) {
+                if (expected.contains(id)) {
+                    hits++;
+                }
+            }
+            total += 10;
+        }
+
+        assertTrue(hits >= total * 0.9, "recall " + hits + "/" + total);
+    }
+
+    @Test
+    void removedIdsAreNeverReturned() {
+        Map<Integer, float[]> vectors = addRandom(1000);
+        Set<Integer> removed = new HashSet<>();
+        for (int id = 0; id < 1000; id += 3) {
+            graph.remove(id);
+            removed.add(id);
+            vectors.remove(id);
+        }
+
+        assertEquals(1000 - removed.size(), graph.size());
+        for (int q = 0; q < 30; q++) {
+            List<Integer> result = graph.search(randomUnitVector(), 20, 64);
+            assertEquals(20, result.size());
+            for (int id : result) {
+                assertFalse(removed.contains(id), "removed id returned: " + id);
+            }
+        }
+        // 삭제된 노드 자신의 벡터로 찾아도 결과에 없음
+        int target = 0;
+        assertFalse(graph.search(unitVectorOf(target), 10, 64).contains(target));
+    }
+
+    @Test
+    void readdingIdReplacesPreviousVector() {
+        addRandom(300);
+        float[] replacement = randomUnitVector();
+
+        graph.add(42, replacement);
+
+        assertEquals(300, graph.size());
+        List<Integer> result = graph.search(replacement, 10, 64);
+        assertEquals(42, (int) result.get(0));
+        assertEquals(1, Collections.frequency(result, 42));
+    }
+
+    private Map<Integer, float[]> addRandom(int count) {
+        Map<Integer, float[]> vectors = new HashMap<>();
+        for (int id = 0; id < count; id++) {
+            float[] vector = randomUnitVector();
+            vectors.put(id, vector);
+            graph.add(id, vector);
+        }
+        return vectors;
+    }
+
+    // 삭제 전에 만든 벡터를 같은 시드로 다시 만든다 (addRandom의 첫 벡터 = id 0)
+    private float[] unitVectorOf(int id) {
+        Random replay = new Random(7);
+        float[] vector = null;
+        for (int i = 0; i <= id; i++) {
+            vector = randomUnitVector(replay);
+        }
+        return vector;
+    }
+
+    private float[] randomUnitVector() {
+        return randomUnitVector(random);
+    }
+
+    private static float[] randomUnitVector(Random source) {
+        float[] vector = new float[DIM];
+        double norm = 0;
+        for (int d = 0; d < DIM; d++) {
+            vector[d] = (float) source.nextGaussian();
+            norm += vector[d] * vector[d];
+        }
+        float inv = (float) (1.0 / Math.sqrt(norm));
+        for (int d = 0; d < DIM; d++) {
+            vector[d] *= inv;
+        }
+        return vector;
+    }
+
+    private static List<Integer> bruteForce(Map<Integer, float[]> vectors, float[] query, int k) {
+        List<Integer> ids = new ArrayList<>(vectors.keySet());
+        ids.sort(Comparator.comparingDouble(id -> -dot(query, vectors.get(id))));
+        return ids.subList(0, Math.min(k, ids.size()));
+    }
+
+    private static double dot(float[] a, float[] b) {
+        double score = 0;
+        for (int d = 0; d < a.length; d++) {
+            score += a[d] * b[d];
+        }
+        return score;
+    }
+}
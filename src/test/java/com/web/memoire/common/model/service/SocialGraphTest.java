@@ -0,0 +1,120 @@
+package com.web.memoire.common.model.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SocialGraphTest {
+
+    private FakeJdbcTemplate jdbcTemplate;
+    private SocialGraph socialGraph;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new FakeJdbcTemplate();
+        socialGraph = new SocialGraph(jdbcTemplate);
+    }
+
+    @Test
+    void answersFromLoadedRelationships() {
+        jdbcTemplate.rows.add(new String[]{"a", "b", "1"});
+        jdbcTemplate.rows.add(new String[]{"c", "b", "0"});
+        jdbcTemplate.rows.add(new String[]{"a", "d", "2"});
+
+        socialGraph.reload();
+
+        assertEquals("1", socialGraph.statusOf("a", "b"));
+        assertEquals(SocialGraph.NONE, socialGraph.statusOf("b", "a"));
+        assertTrue(socialGraph.isFollowing("a", "b"));
+        assertFalse(socialGraph.isFollowing("c", "b"));
+        assertTrue(socialGraph.isBlockedEitherWay("d", "a"));
+        assertEquals(1, socialGraph.pendingRequestCount("b"));
+
+        SocialGraph.AccessEdges edges = socialGraph.accessEdges("a");
+        assertEquals(Set.of("b"), edges.followingIds());
+        assertEquals(Set.of("d"), edges.blockedIds());
+    }
+
+    @Test
+    void changesDuringReloadAreReplayedOntoNewGraph() {
+        jdbcTemplate.rows.add(new String[]{"a", "b", "1"});
+        jdbcTemplate.rows.add(new String[]{"c", "b", "0"});
+        // 로딩 도중 커밋된 변경 - 로더는 변경 전 행(a->b 팔로우, c->b 요청)을 그대로 읽는다
+        jdbcTemplate.duringLoad = () -> {
+            socialGraph.update("a", "b", SocialGraph.NONE);
+            socialGraph.update("c", "b", "1");
+            socialGraph.update("e", "f", "1");
+        };
+
+        socialGraph.reload();
+
+        assertEquals(SocialGraph.NONE, socialGraph.statusOf("a", "b"));
+        assertTrue(socialGraph.isFollowing("c", "b"));
+        assertEquals(0, socialGraph.pendingRequestCount("b"));
+        assertTrue(socialGraph.isFollowing("e", "f"));
+    }
+
+    @Test
+    void failedReloadKeepsCurrentGraphAndChanges() {
+        jdbcTemplate.rows.add(new String[]{"a", "b", "1"});
+        socialGraph.reload();
+
+        jdbcTemplate.duringLoad = () -> socialGraph.update("c", "a", "0");
+        jdbcTemplate.failLoad = true;
+        socialGraph.reload();
+
+        assertTrue(socialGraph.isFollowing("a", "b"));
+        assertEquals(1, socialGraph.pendingRequestCount("a"));
+
+        // 다음 재로딩에는 이전 실패 중 기록한 변경이 남아 있지 않음
+        jdbcTemplate.failLoad = false;
+        jdbcTemplate.duringLoad = null;
+        socialGraph.reload();
+
+        assertEquals(SocialGraph.NONE, socialGraph.statusOf("c", "a"));
+    }
+
+    private static ResultSet row(String[] values) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString(1)).thenReturn(values[0]);
+        when(rs.getString(2)).thenReturn(values[1]);
+        when(rs.getString(3)).thenReturn(values[2]);
+        return rs;
+    }
+
+    // TB_RELATIONSHIP 전체 조회만 흉내 (중간에 다른 스레드의 커밋/실패를 끼워 넣을 수 있음)
+    private static class FakeJdbcTemplate extends JdbcTemplate {
+
+        private final List<String[]> rows = new ArrayList<>();
+        private Runnable duringLoad;
+        private boolean failLoad;
+
+        @Override
+        public void query(String sql, RowCallbackHandler rch) {
+            try {
+                for (int i = 0; i < rows.size(); i++) {
+                    rch.processRow(row(rows.get(i)));
+                    if (i == 0 && duringLoad != null) {
+                        duringLoad.run();
+                    }
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            if (failLoad) {
+                throw new IllegalStateException("db down");
+            }
+        }
+    }
+}
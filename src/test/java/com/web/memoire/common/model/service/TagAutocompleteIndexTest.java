@@ -0,0 +1,121 @@
+package com.web.memoire.common.model.service;
+
+import com.web.memoire.common.jpa.repository.TagDictionaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TagAutocompleteIndexTest {
+
+    private TagDictionaryRepository repository;
+    private TagAutocompleteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(TagDictionaryRepository.class);
+        when(repository.findTagWeights()).thenReturn(rows(
+                "여행", 50L,
+                "해외여행", 30L,
+                "강아지", 20L,
+                "가방", 10L,
+                "국립중앙박물관나들이", 5L,
+                "Travel", 1L));
+        index = new TagAutocompleteIndex(repository);
+    }
+
+    @Test
+    void decomposesSyllablesIntoJamoAndChoseong() {
+        assertEquals("ㄱㅏㅇㅇㅏㅈㅣ", TagAutocompleteIndex.decompose("강아지"));
+        assertEquals("ㅇㅎ", TagAutocompleteIndex.choseong("여행"));
+        assertEquals("travel", TagAutocompleteIndex.normalize("  Travel "));
+    }
+
+    @Test
+    void notReadyUntilLoaded() {
+        assertFalse(index.isReady());
+
+        index.reload();
+
+        assertTrue(index.isReady());
+    }
+
+    @Test
+    void partialSyllableMatchesByJamo() {
+        index.reload();
+
+        // "가" 입력 중 -> "강"(ㄱㅏㅇ)과 "가"(ㄱㅏ)로 시작하는 글자 모두 일치
+        assertEquals(List.of("강아지", "가방"), index.suggest("가"));
+    }
+
+    @Test
+    void matchesInsideTagNamesByWeight() {
+        index.reload();
+
+        assertEquals(List.of("여행", "해외여행"), index.suggest("여행"));
+        assertEquals(List.of("강아지"), index.suggest("아지"));
+        assertEquals(List.of("Travel"), index.suggest("TRAV"));
+    }
+
+    @Test
+    void choseongOnlyKeywordMatchesByInitials() {
+        index.reload();
+
+        assertEquals(List.of("여행", "해외여행"), index.suggest("ㅇㅎ"));
+        assertEquals(List.of("강아지"), index.suggest("ㅇㅈ"));
+    }
+
+    @Test
+    void keywordsPastDepthCapFallBackToScan() {
+        index.reload();
+
+        // 자모 12개를 넘는 검색어 (트라이 깊이 밖) - 전체 목록에서 포함 여부로 찾음
+        String longKeyword = "중앙박물관나들";
+        assertTrue(TagAutocompleteIndex.decompose(longKeyword).length() > TagAutocompleteIndex.MAX_JAMO_DEPTH);
+        assertEquals(List.of("국립중앙박물관나들이"), index.suggest(longKeyword));
+
+        // 초성 6개를 넘는 검색어
+        String longChoseong = "ㅈㅇㅂㅁㄱㄴㄷ";
+        assertTrue(longChoseong.length() > TagAutocompleteIndex.MAX_CHOSEONG_DEPTH);
+        assertEquals(List.of("국립중앙박물관나들이"), index.suggest(longChoseong));
+
+        assertTrue(index.suggest("중앙박물관없음없음").isEmpty());
+    }
+
+    @Test
+    void unknownKeywordReturnsEmpty() {
+        index.reload();
+
+        assertTrue(index.suggest("고양이").isEmpty());
+    }
+
+    @Test
+    void addedTagIsSearchableAndSurvivesReload() {
+        index.reload();
+        index.add("캠핑");
+        assertEquals(List.of("캠핑"), index.suggest("캠"));
+
+        // 다시 만드는 도중에 추가된 태그도 새 트라이에 남음
+        when(repository.findTagWeights()).thenAnswer(invocation -> {
+            index.add("등산");
+            return rows("여행", 50L);
+        });
+        index.reload();
+
+        assertEquals(List.of("등산"), index.suggest("등"));
+        assertTrue(index.suggest("캠").isEmpty());
+    }
+
+    private static List<Object[]> rows(Object... values) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < values.length; i += 2) {
+            rows.add(new Object[]{values[i], values[i + 1]});
+        }
+        return rows;
+    }
+}
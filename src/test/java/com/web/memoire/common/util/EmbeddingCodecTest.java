@@ -0,0 +1,135 @@
+package com.web.memoire.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmbeddingCodecTest {
+
+    @Test
+    void float32RoundTripIsExact() {
+        float[] vector = {0.1f, -0.25f, 3.5f, 0f, -1e-6f};
+        byte[] bytes = EmbeddingCodec.encodeFloat32(vector);
+
+        assertEquals(EmbeddingCodec.FORMAT_FLOAT32, bytes[0]);
+        assertEquals(vector.length, EmbeddingCodec.dimensionOf(bytes));
+        assertArrayEquals(vector, EmbeddingCodec.decode(bytes));
+    }
+
+    @Test
+    void int8RoundTripErrorIsWithinHalfStep() {
+        Random random = new Random(42);
+        float[] vector = new float[1536];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = (float) random.nextGaussian() * 0.05f;
+        }
+        byte[] bytes = EmbeddingCodec.encodeInt8(vector);
+        float[] decoded = EmbeddingCodec.decode(bytes);
+
+        assertEquals(EmbeddingCodec.FORMAT_INT8, bytes[0]);
+        assertEquals(5 + 4 + vector.length, bytes.length);
+        float maxAbs = 0;
+        for (float v : vector) {
+            maxAbs = Math.max(maxAbs, Math.abs(v));
+        }
+        float halfStep = maxAbs / 127f / 2f;
+        for (int i = 0; i < vector.length; i++) {
+            assertEquals(vector[i], decoded[i], halfStep + 1e-7f);
+        }
+    }
+
+    @Test
+    void int8KeepsCosineSimilarityClose() {
+        Random random = new Random(7);
+        float[] a = new float[1536];
+        float[] b = new float[1536];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = (float) random.nextGaussian();
+            b[i] = a[i] + (float) random.nextGaussian() * 0.5f;
+        }
+        double exact = cosine(a, b);
+        double quantized = cosine(EmbeddingCodec.decode(EmbeddingCodec.encodeInt8(a)),
+                EmbeddingCodec.decode(EmbeddingCodec.encodeInt8(b)));
+
+        assertEquals(exact, quantized, 0.01);
+    }
+
+    @Test
+    void int8ZeroVectorDecodesToZeros() {
+        float[] decoded = EmbeddingCodec.decode(EmbeddingCodec.encodeInt8(new float[4]));
+
+        assertArrayEquals(new float[4], decoded);
+    }
+
+    @Test
+    void decodeIntoWritesAtOffset() {
+        float[] matrix = new float[2 + 3 + 3];
+        matrix[0] = 9f;
+        matrix[1] = 9f;
+
+        int dim = EmbeddingCodec.decodeInto(EmbeddingCodec.encodeFloat32(new float[]{1f, 2f, 3f}), matrix, 2);
+        EmbeddingCodec.decodeInto(EmbeddingCodec.encodeInt8(new float[]{127f, 0f, -127f}), matrix, 2 + dim);
+
+        assertEquals(3, dim);
+        assertArrayEquals(new float[]{9f, 9f, 1f, 2f, 3f, 127f, 0f, -127f}, matrix);
+    }
+
+    @Test
+    void decodeRejectsShortOrNullInput() {
+        assertNull(EmbeddingCodec.decode(null));
+        assertNull(EmbeddingCodec.decode(new byte[]{EmbeddingCodec.FORMAT_INT8, 0, 0}));
+        assertNull(EmbeddingCodec.encodeFloat32(null));
+        assertNull(EmbeddingCodec.encodeInt8(null));
+    }
+
+    @Test
+    void decodeRejectsUnknownFormat() {
+        byte[] bytes = EmbeddingCodec.encodeFloat32(new float[]{1f});
+        bytes[0] = 99;
+
+        assertThrows(IllegalArgumentException.class, () -> EmbeddingCodec.decode(bytes));
+    }
+
+    @Test
+    void fromJsonParsesArrays() {
+        assertArrayEquals(new float[]{0.1f, -0.2f, 3f}, EmbeddingCodec.fromJson("[0.1, -0.2, 3]"));
+        assertArrayEquals(new float[]{1f, 2f}, EmbeddingCodec.fromJson("  [1,2]\n"));
+        assertArrayEquals(new float[]{1.5e-3f}, EmbeddingCodec.fromJson("[1.5E-3]"));
+        assertArrayEquals(new float[]{4f, 5f}, EmbeddingCodec.fromJson("4, 5"));
+    }
+
+    @Test
+    void fromJsonReturnsNullForEmptyOrMalformedInput() {
+        assertNull(EmbeddingCodec.fromJson(null));
+        assertNull(EmbeddingCodec.fromJson(""));
+        assertNull(EmbeddingCodec.fromJson("[]"));
+        assertNull(EmbeddingCodec.fromJson("[  ]"));
+        assertNull(EmbeddingCodec.fromJson("[1, abc, 3]"));
+        assertNull(EmbeddingCodec.fromJson("[1,,2]"));
+        assertNull(EmbeddingCodec.fromJson("{\"a\": 1}"));
+    }
+
+    @Test
+    void listConversionRoundTrips() {
+        float[] vector = {1f, -2f, 0.5f};
+
+        assertArrayEquals(vector, EmbeddingCodec.fromList(EmbeddingCodec.toList(vector)));
+        assertEquals(List.of(1f, -2f, 0.5f), EmbeddingCodec.toList(vector));
+        assertNull(EmbeddingCodec.fromList(null));
+    }
+
+    private static double cosine(float[] a, float[] b) {
+        double dot = 0;
+        double normA = 0;
+        double normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return dot / Math.sqrt(normA * normB);
+    }
+}
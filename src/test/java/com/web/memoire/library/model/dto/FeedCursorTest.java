@@ -0,0 +1,60 @@
+package com.web.memoire.library.model.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeedCursorTest {
+
+    @Test
+    void roundTripsThroughEncode() {
+        FeedCursor cursor = new FeedCursor(1234L, 56, 789);
+
+        FeedCursor decoded = FeedCursor.decode(cursor.encode());
+
+        assertEquals(1234L, decoded.getScore());
+        assertEquals(56, decoded.getCollectionid());
+        assertEquals(789, decoded.getMaxCollectionid());
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String encoded = new FeedCursor(Long.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE).encode();
+
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void nextKeepsFirstPageSnapshot() {
+        FeedCursor first = FeedCursor.first(500);
+
+        FeedCursor next = FeedCursor.decode(first.next(42L, 300).encode());
+
+        assertEquals(42L, next.getScore());
+        assertEquals(300, next.getCollectionid());
+        assertEquals(500, next.getMaxCollectionid());
+    }
+
+    @Test
+    void blankCursorMeansFirstPage() {
+        assertNull(FeedCursor.decode(null));
+        assertNull(FeedCursor.decode(""));
+        assertNull(FeedCursor.decode("  "));
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode(encodeRaw("12:34")));
+        assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode(encodeRaw("12:34:56:78")));
+        assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode(encodeRaw("abc:34:56")));
+        assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode(encodeRaw("12::56")));
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,106 @@
+package com.web.memoire.library.model.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadCountBufferTest {
+
+    private RecordingJdbcTemplate jdbcTemplate;
+    private ReadCountBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new RecordingJdbcTemplate();
+        buffer = new ReadCountBuffer(jdbcTemplate);
+    }
+
+    @Test
+    void flushWritesAccumulatedCountsAndClearsBuffer() {
+        buffer.increment(1);
+        buffer.increment(1);
+        buffer.increment(1);
+        buffer.increment(2);
+        assertEquals(3, buffer.getPending(1));
+        assertEquals(4, buffer.getPendingDelta());
+
+        buffer.flush();
+
+        assertEquals(1, jdbcTemplate.batches.size());
+        List<Object[]> args = jdbcTemplate.batches.get(0);
+        assertEquals(2, args.size());
+        for (Object[] row : args) {
+            long expected = ((Integer) row[2]) == 1 ? 3L : 1L;
+            assertEquals(expected, row[0]);
+            assertEquals(expected, row[1]);
+        }
+        assertEquals(0, buffer.getPending(1));
+        assertEquals(0, buffer.getPendingDelta());
+        assertEquals(0, buffer.getPendingCollections());
+    }
+
+    @Test
+    void flushWithNothingPendingSkipsUpdate() {
+        buffer.flush();
+
+        assertTrue(jdbcTemplate.batches.isEmpty());
+    }
+
+    @Test
+    void failedFlushRestoresCountsForNextFlush() {
+        buffer.increment(7);
+        buffer.increment(7);
+        jdbcTemplate.failNext = true;
+
+        buffer.flush();
+
+        assertEquals(2, buffer.getPending(7));
+        assertEquals(2, buffer.getPendingDelta());
+
+        buffer.flush();
+
+        assertEquals(2, jdbcTemplate.batches.size());
+        assertEquals(2L, jdbcTemplate.batches.get(1).get(0)[0]);
+        assertEquals(0, buffer.getPending(7));
+        assertEquals(0, buffer.getPendingDelta());
+    }
+
+    @Test
+    void countsArrivingDuringFlushAreKept() {
+        buffer.increment(5);
+        jdbcTemplate.duringBatch = () -> buffer.increment(5);
+
+        buffer.flush();
+
+        assertEquals(1L, jdbcTemplate.batches.get(0).get(0)[0]);
+        assertEquals(1, buffer.getPending(5));
+        assertEquals(1, buffer.getPendingDelta());
+    }
+
+    private static class RecordingJdbcTemplate extends JdbcTemplate {
+
+        private final List<List<Object[]>> batches = new ArrayList<>();
+        private boolean failNext;
+        private Runnable duringBatch;
+
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+            batches.add(new ArrayList<>(batchArgs));
+            if (duringBatch != null) {
+                Runnable action = duringBatch;
+                duringBatch = null;
+                action.run();
+            }
+            if (failNext) {
+                failNext = false;
+                throw new IllegalStateException("db down");
+            }
+            return new int[batchArgs.size()];
+        }
+    }
+}